@@ -0,0 +1,40 @@
+package com.bond.benchmark;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.model.Note;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+final class BenchmarkNotes {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 30, 13, 46, 19);
+
+    private BenchmarkNotes() {
+    }
+
+    static Note createNote(Long id, int contentLength) {
+        return new Note()
+                .setId(id)
+                .setTitle("Benchmark title " + id)
+                .setContent(createContent(contentLength))
+                .setCreatedAt(CREATED_AT)
+                .setLastUpdatedAt(CREATED_AT);
+    }
+
+    static List<NoteResponseDto> createResponseDtos(int size, int contentLength) {
+        String content = createContent(contentLength);
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new NoteResponseDto(
+                        id, "Benchmark title " + id, content, CREATED_AT, CREATED_AT, 0L
+                ))
+                .toList();
+    }
+
+    static String createContent(int length) {
+        StringBuilder content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append("lorem ipsum dolor sit amet ");
+        }
+        return content.substring(0, length);
+    }
+}
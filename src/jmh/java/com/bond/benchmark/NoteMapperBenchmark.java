@@ -0,0 +1,52 @@
+package com.bond.benchmark;
+
+import static java.time.LocalDateTime.now;
+
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import com.bond.mapper.NoteMapper;
+import com.bond.mapper.impl.NoteMapperImpl;
+import com.bond.model.Note;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteMapperBenchmark {
+    private final NoteMapper noteMapper = new NoteMapperImpl();
+    @Param({"100", "20000"})
+    private int contentLength;
+    private Note note;
+    private NoteRequestDto updateRequestDto;
+
+    @Setup
+    public void setUp() {
+        note = BenchmarkNotes.createNote(1L, contentLength);
+        updateRequestDto = new NoteRequestDto("Updated title", null);
+    }
+
+    @Benchmark
+    public NoteResponseDto toResponseDto() {
+        return noteMapper.toResponseDto(note);
+    }
+
+    @Benchmark
+    public Note toUpdatedModel() {
+        return noteMapper.toUpdatedModel(note, updateRequestDto)
+                .setLastUpdatedAt(now());
+    }
+}
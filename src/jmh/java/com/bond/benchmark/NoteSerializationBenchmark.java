@@ -0,0 +1,78 @@
+package com.bond.benchmark;
+
+import com.bond.dto.NoteResponseDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/*
+ every format negotiated by Accept header is measured as is and gzipped like
+ server.compression does it, payload sizes are printed once per trial
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteSerializationBenchmark {
+    @Param({"6", "100", "1000"})
+    private int listSize;
+    @Param({"100", "2000", "20000"})
+    private int contentLength;
+    @Param({"json", "smile", "cbor"})
+    private String format;
+    private ObjectWriter objectWriter;
+    private NoteResponseDto[] notes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (format) {
+            case "smile" -> builder.factory(new SmileFactory());
+            case "cbor" -> builder.factory(new CBORFactory());
+            default -> {
+            }
+        }
+        objectWriter = builder.build().writerFor(NoteResponseDto[].class);
+        List<NoteResponseDto> noteList = BenchmarkNotes.createResponseDtos(listSize, contentLength);
+        notes = noteList.toArray(NoteResponseDto[]::new);
+        System.out.printf("%n%s payload of %d notes with %d chars of content: %d bytes, "
+                        + "%d bytes gzipped%n",
+                format, listSize, contentLength, serializeList().length,
+                serializeListGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectWriter.writeValueAsBytes(notes);
+    }
+
+    @Benchmark
+    public byte[] serializeListGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectWriter.writeValue(gzip, notes);
+        }
+        return bytes.toByteArray();
+    }
+}
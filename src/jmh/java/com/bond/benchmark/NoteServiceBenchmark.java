@@ -0,0 +1,137 @@
+package com.bond.benchmark;
+
+import com.bond.Application;
+import com.bond.dto.NoteCursorPageResponseDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import com.bond.service.NoteService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+ the cache is turned off, PostgreSQL is started by Testcontainers unless SPRING_DATASOURCE_URL,
+ SPRING_DATASOURCE_USERNAME and SPRING_DATASOURCE_PASSWORD point to a local one
+ only rows the benchmark seeds are deleted
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteServiceBenchmark {
+    private static final String TITLE_PREFIX = "benchmark-";
+    private static final String SEED_NOTES_QUERY = """
+            WITH inserted_notes AS (
+                INSERT INTO notes (title, created_at, last_updated_at)
+                SELECT ? || i, LOCALTIMESTAMP - i * INTERVAL '1 second', LOCALTIMESTAMP
+                FROM generate_series(1, ?) AS i
+                RETURNING id
+            )
+            INSERT INTO note_bodies (note_id, content)
+            SELECT id, repeat('lorem ipsum dolor sit amet ', ?) || id
+            FROM inserted_notes
+            """;
+    private static final Pageable FIRST_PAGE = PageRequest.of(
+            0, 6, Sort.by(Sort.Direction.DESC, "createdAt")
+    );
+    @Param({"10000"})
+    private int noteCount;
+    @Param({"10"})
+    private int contentRepeats;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private NoteService noteService;
+    private long minId;
+    private long maxId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.datasource.url", "jdbc:tc:postgresql:///benchmarks",
+                        "spring.datasource.username", "benchmark",
+                        "spring.datasource.password", "benchmark",
+                        "spring.jpa.show-sql", "false",
+                        "spring.cache.type", "none",
+                        "notes.purge.enabled", "false",
+                        "frontend.url", "http://localhost"
+                ))
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        noteService = context.getBean(NoteService.class);
+        deleteSeededNotes();
+        jdbcTemplate.update(SEED_NOTES_QUERY, TITLE_PREFIX, noteCount, contentRepeats);
+        jdbcTemplate.execute("ANALYZE notes, note_bodies");
+        minId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM notes WHERE title LIKE ?", Long.class, TITLE_PREFIX + "%"
+        );
+        maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM notes WHERE title LIKE ?", Long.class, TITLE_PREFIX + "%"
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteSeededNotes();
+        context.close();
+    }
+
+    @Benchmark
+    public NoteResponseDto getById() {
+        return noteService.getById(ThreadLocalRandom.current().nextLong(minId, maxId + 1));
+    }
+
+    @Benchmark
+    public List<NoteResponseDto> getAllFirstPage() {
+        return noteService.getAll(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public NoteCursorPageResponseDto scrollFirstPage() {
+        return noteService.scroll(null, 6);
+    }
+
+    @Benchmark
+    public List<NoteResponseDto> searchByTitle() {
+        return noteService.search(
+                TITLE_PREFIX + ThreadLocalRandom.current().nextInt(noteCount),
+                null,
+                PageRequest.of(0, 6)
+        );
+    }
+
+    @Benchmark
+    public NoteResponseDto create() {
+        return noteService.create(new NoteRequestDto(
+                TITLE_PREFIX + "created",
+                "lorem ipsum dolor sit amet"
+        ));
+    }
+
+    private void deleteSeededNotes() {
+        jdbcTemplate.update("DELETE FROM notes WHERE title LIKE ?", TITLE_PREFIX + "%");
+    }
+}
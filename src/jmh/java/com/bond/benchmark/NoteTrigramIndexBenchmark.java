@@ -0,0 +1,118 @@
+package com.bond.benchmark;
+
+import com.bond.search.NoteTrigramIndex;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+// every title also has the id of its note, which makes a term matching a single note
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class NoteTrigramIndexBenchmark {
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ru", "sa", "te", "vo", "pri", "dan", "mel", "tor",
+            "gen", "bas", "ul", "fi", "or", "che", "wan", "zu"
+    };
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 30, 13, 46, 19);
+    private static final int PAGE_SIZE = 20;
+    @Param("1000000")
+    private int noteCount;
+    @Param("200")
+    private int contentLength;
+    private NoteTrigramIndex index;
+    private String[] vocabulary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final long heapBefore = usedHeap();
+        index = new NoteTrigramIndex();
+        Random random = new Random(42);
+        vocabulary = createVocabulary(random);
+        for (long id = 1; id <= noteCount; id++) {
+            index.put(
+                    id,
+                    0,
+                    createText(random, 24) + " " + id,
+                    createText(random, contentLength),
+                    CREATED_AT.plusSeconds(id),
+                    CREATED_AT.plusSeconds(id)
+            );
+        }
+        System.out.printf("%nIndex of %d notes retains %d MB of heap%n",
+                noteCount, (usedHeap() - heapBefore) / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<Long> rareTitleTerm() {
+        return index.find("12345", null, Sort.unsorted(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> commonContentTerm() {
+        return index.find(null, vocabulary[0], Sort.unsorted(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> titleAndContentSortedByDate() {
+        return index.find(
+                vocabulary[1],
+                vocabulary[2],
+                Sort.by(Sort.Direction.DESC, "createdAt"),
+                0,
+                PAGE_SIZE
+        );
+    }
+
+    @Benchmark
+    public long countCommonTerm() {
+        return index.count(vocabulary[3], null);
+    }
+
+    private String createText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+
+    private String[] createVocabulary(Random random) {
+        String[] words = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int j = 0; j < syllables; j++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,50 @@
+package com.bond.benchmark;
+
+import com.bond.model.Note;
+import com.bond.repository.specification.NoteSpecificationBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.jpa.domain.Specification;
+
+// the ExampleMatcher is built the same way NoteServiceImpl builds it for the fallback search
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchExampleBenchmark {
+    private final NoteSpecificationBuilder noteSpecificationBuilder =
+            new NoteSpecificationBuilder();
+
+    @Benchmark
+    public Example<Note> exampleMatcher() {
+        ExampleMatcher exampleMatcher = ExampleMatcher.matching()
+                .withIgnoreNullValues()
+                .withIgnorePaths("id", "createdAt", "lastUpdatedAt")
+                .withMatcher(
+                        "title",
+                        ExampleMatcher.GenericPropertyMatchers.contains().ignoreCase()
+                )
+                .withMatcher(
+                        "content",
+                        ExampleMatcher.GenericPropertyMatchers.contains().ignoreCase()
+                );
+        return Example.of(new Note().setTitle("title").setContent("content"), exampleMatcher);
+    }
+
+    @Benchmark
+    public Specification<Note> trigramSpecification() {
+        return noteSpecificationBuilder.build("title", "content");
+    }
+}
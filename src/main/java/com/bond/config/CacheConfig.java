@@ -0,0 +1,10 @@
+package com.bond.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String NOTES_CACHE = "notes";
+}
@@ -0,0 +1,53 @@
+package com.bond.config;
+
+import com.bond.controller.NoteController;
+import com.bond.handler.NoteHandler;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveRouterConfig {
+    @Value("${frontend.url}")
+    private String frontendUrl;
+
+    @Bean
+    public RouterFunction<ServerResponse> noteRoutes(NoteHandler noteHandler) {
+        return RouterFunctions.route()
+                .path("/notes", builder -> builder
+                        .GET("", noteHandler::getAll)
+                        .GET("/cursor", noteHandler::scroll)
+                        .GET("/search/cursor", noteHandler::scrollSearch)
+                        .GET("/search", noteHandler::search)
+                        .GET("/{id}", noteHandler::getById)
+                        .POST("", noteHandler::create)
+                        .PUT("/{id}", noteHandler::update)
+                        .DELETE("/{id}", noteHandler::delete))
+                .onError(IllegalArgumentException.class, noteHandler::badRequest)
+                .onError(EntityNotFoundException.class, noteHandler::badRequest)
+                .build();
+    }
+
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of(frontendUrl));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(NoteController.TOTAL_COUNT_HEADER));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return new CorsWebFilter(source);
+    }
+}
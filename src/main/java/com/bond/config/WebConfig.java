@@ -1,12 +1,31 @@
 package com.bond.config;
 
+import com.bond.controller.NoteController;
+import com.bond.interceptor.BulkheadInterceptor;
+import com.bond.interceptor.QueryMetricsInterceptor;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
+    private final ObjectProvider<BulkheadInterceptor> bulkheadInterceptor;
+    private final QueryMetricsInterceptor queryMetricsInterceptor;
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
     @Value("${frontend.url}")
     private String frontendUrl;
 
@@ -16,6 +35,34 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins(frontendUrl)
                 .allowedMethods("GET", "POST", "PUT", "DELETE")
                 .allowedHeaders("*")
+                .exposedHeaders(NoteController.TOTAL_COUNT_HEADER)
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        bulkheadInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/notes/**", "/admin/**"));
+        registry.addInterceptor(queryMetricsInterceptor)
+                .addPathPatterns("/notes/**", "/admin/**");
+    }
+
+    /*
+     Smile and CBOR are picked only by an explicit Accept (or Content-Type) header,
+     they stay after JSON, so a wildcard Accept still gets JSON
+     the default ones would ignore spring.jackson.* settings (dates as arrays of numbers),
+     they are replaced with mappers built the same way as the JSON one
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter ->
+                converter instanceof MappingJackson2SmileHttpMessageConverter
+                        || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build()
+        ));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()
+        ));
+    }
 }
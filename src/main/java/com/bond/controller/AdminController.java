@@ -0,0 +1,62 @@
+package com.bond.controller;
+
+import com.bond.dto.NotePurgeResultDto;
+import com.bond.dto.NoteRecompressionResultDto;
+import com.bond.dto.NoteStorageStatsDto;
+import com.bond.metrics.QueryBudget;
+import com.bond.service.NotePurgeService;
+import com.bond.service.NoteStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin controller",
+        description = "Endpoints for maintenance tasks")
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class AdminController {
+    private final NotePurgeService notePurgeService;
+    private final NoteStorageService noteStorageService;
+
+    @PostMapping("/notes/purge")
+    @QueryBudget(QueryBudget.UNLIMITED)
+    @Operation(summary = "Purge soft deleted notes",
+            description = """
+                    Hard deletes notes that were deleted longer than notes.purge.retention ago
+                    Works even if the scheduled purge is disabled
+                    """)
+    public NotePurgeResultDto purge() {
+        return notePurgeService.purge();
+    }
+
+    @PostMapping("/notes/recompress")
+    @QueryBudget(QueryBudget.UNLIMITED)
+    @Operation(summary = "Recompress content of notes",
+            description = """
+                    Rewrites content compressed before the column was switched to lz4
+                    Works even if the recompression on startup is disabled,
+                    it is skipped when the server has no lz4
+                    """)
+    public NoteRecompressionResultDto recompress() {
+        return noteStorageService.recompress();
+    }
+
+    @GetMapping("/notes/storage")
+    @QueryBudget(1)
+    @Operation(summary = "Get storage stats of notes",
+            description = """
+                    Sizes of the notes table, its TOAST table and indexes,
+                    raw and stored sizes of content and how it is compressed
+                    Reads every row, so it is not meant to be called often
+                    """)
+    public NoteStorageStatsDto getStorageStats() {
+        return noteStorageService.getStats();
+    }
+}
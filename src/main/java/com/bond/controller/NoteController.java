@@ -1,77 +1,295 @@
 package com.bond.controller;
 
+import com.bond.dto.NoteBatchResultDto;
+import com.bond.dto.NoteBatchUpdateRequestDto;
+import com.bond.dto.NoteChangesResponseDto;
+import com.bond.dto.NoteCursorPageResponseDto;
+import com.bond.dto.NoteImportFormat;
+import com.bond.dto.NoteImportResultDto;
 import com.bond.dto.NoteRequestDto;
 import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
+import com.bond.metrics.QueryBudget;
+import com.bond.model.Note;
+import com.bond.service.NoteChangeService;
+import com.bond.service.NoteExportService;
+import com.bond.service.NoteImportService;
 import com.bond.service.NoteService;
+import com.bond.service.NoteStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Notes controller",
         description = "Endpoints for managing notes")
 @RestController
 @RequestMapping("/notes")
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class NoteController {
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String DEFAULT_SCROLL_SIZE = "6";
+    private static final String DEFAULT_CHANGES_SIZE = "100";
+    private static final String SUMMARY_VIEW_PARAM = "view=summary";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+    // hibernate.jdbc.batch_size and notes.batch.max-size of application.properties
+    private static final int JDBC_BATCH_SIZE = 50;
+    private static final int MAX_BATCH_SIZE = 1000;
+    // a sequence call per block of ids, then a JDBC batch of notes and one of note_bodies
+    private static final int CREATE_BATCH_QUERY_BUDGET = MAX_BATCH_SIZE / Note.ID_ALLOCATION_SIZE
+            + 2 * MAX_BATCH_SIZE / JDBC_BATCH_SIZE;
+    // a select of the notes, then a JDBC batch of notes and one of note_bodies
+    private static final int UPDATE_BATCH_QUERY_BUDGET = 1 + 2 * MAX_BATCH_SIZE / JDBC_BATCH_SIZE;
+    private static final Function<NoteResponseDto, String> NOTE_TAG =
+            note -> note.id() + ":" + note.version();
+    private static final Function<NoteSummaryDto, String> SUMMARY_TAG =
+            summary -> summary.id() + ":" + summary.lastUpdatedAt();
     private final NoteService noteService;
+    private final NoteExportService noteExportService;
+    private final NoteChangeService noteChangeService;
+    private final NoteStreamService noteStreamService;
+    private final NoteImportService noteImportService;
 
     @GetMapping
-    @Operation(summary = "Get all notes with pageable sorting")
-    public List<NoteResponseDto> getAll(Pageable pageable) {
-        return noteService.getAll(pageable);
+    @QueryBudget(2)
+    @Operation(summary = "Get all notes with pageable sorting",
+            description = """
+                    Pass includeTotal=true to get the total number of notes in X-Total-Count header
+                    It costs an additional count query, so do it only when you really need it
+                    """)
+    public ResponseEntity<List<NoteResponseDto>> getAll(
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return withTotalCount(
+                noteService.getAll(pageable),
+                NOTE_TAG,
+                includeTotal,
+                noteService::countAll
+        );
+    }
+
+    @GetMapping(params = SUMMARY_VIEW_PARAM)
+    @QueryBudget(2)
+    @Operation(summary = "Get all notes as summaries with pageable sorting",
+            description = """
+                    Returns only the beginning of notes content (snippet) instead of the whole one
+                    Use it for lists of notes
+                    """)
+    public ResponseEntity<List<NoteSummaryDto>> getAllSummaries(
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return withTotalCount(
+                noteService.getAllSummaries(pageable),
+                SUMMARY_TAG,
+                includeTotal,
+                noteService::countAll
+        );
+    }
+
+    @GetMapping("/cursor")
+    @QueryBudget(2)
+    @Operation(summary = "Get all notes with cursor pagination",
+            description = """
+                    Notes are ordered from the newest to the oldest
+                    
+                    Pass nextCursor from the previous response as after param to get the next page
+                    """)
+    public ResponseEntity<NoteCursorPageResponseDto> scroll(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_SCROLL_SIZE) int size
+    ) {
+        return withETag(noteService.scroll(after, size));
+    }
+
+    @GetMapping("/changes")
+    @QueryBudget(1)
+    @Operation(summary = "Get notes changed since a change token",
+            description = """
+                    Returns created, updated and deleted notes in the order they were changed
+                    Deleted notes come as tombstones (deleted=true, without title and content)
+                    
+                    Start without since param, then always pass nextToken of the previous response
+                    Request again right away while hasMore is true
+                    
+                    Deleted notes are purged after notes.purge.retention,
+                    clients that did not sync for longer should start over without since param
+                    """)
+    public NoteChangesResponseDto getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = DEFAULT_CHANGES_SIZE) int size
+    ) {
+        return noteChangeService.getChanges(since, size);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(0)
+    @Operation(summary = "Subscribe to note changes",
+            description = """
+                    Pushes created, updated and deleted events as Server-Sent Events
+                    
+                    A client that falls too far behind is disconnected,
+                    after reconnecting it can catch up with the changes endpoint
+                    """)
+    public SseEmitter stream() {
+        return noteStreamService.subscribe();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    // the body is written on an async thread, the request thread's query count never sees it
+    @QueryBudget(QueryBudget.UNLIMITED)
+    @Operation(summary = "Export all notes",
+            description = """
+                    Streams all the notes as newline-delimited JSON (one note per line)
+                    """)
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(noteExportService::exportAll);
+    }
+
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, CSV_MEDIA_TYPE}
+    )
+    @QueryBudget(QueryBudget.UNLIMITED)
+    @Operation(summary = "Import notes",
+            description = """
+                    Pass notes as newline-delimited JSON (application/x-ndjson)
+                    or as CSV with title and content header (text/csv)
+                    
+                    Valid notes are loaded in chunks, non-valid ones are reported with their lines
+                    """)
+    public NoteImportResultDto importNotes(
+            InputStream inputStream,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType
+    ) throws IOException {
+        NoteImportFormat format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? NoteImportFormat.NDJSON
+                : NoteImportFormat.CSV;
+        return noteImportService.importNotes(inputStream, format);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a note by id")
-    public NoteResponseDto getById(@PathVariable Long id) {
-        return noteService.getById(id);
+    @QueryBudget(1)
+    @Operation(summary = "Get a note by id",
+            description = """
+                    The note version is returned as ETag
+                    Pass it in If-None-Match to get 304 Not Modified while the note is the same
+                    """)
+    public ResponseEntity<NoteResponseDto> getById(@PathVariable Long id) {
+        return withETag(noteService.getById(id), HttpStatus.OK);
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
+    @QueryBudget(3)
     @Operation(summary = "Create a note",
             description = """
                     Endpoint for creating a note
                     You should only pass title and content
                     """)
-    public NoteResponseDto create(@RequestBody @Valid NoteRequestDto requestDto) {
-        return noteService.create(requestDto);
+    public ResponseEntity<NoteResponseDto> create(@RequestBody @Valid NoteRequestDto requestDto) {
+        return withETag(noteService.create(requestDto), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
+    @QueryBudget(2)
     @Operation(summary = "Update a note by id",
             description = """
                     Pass as params for updating title or content (or both)
+                    
+                    Pass the ETag of the note in If-Match to update it only if nobody else did
+                    Otherwise you will get 412 Precondition Failed
                     """)
-    public NoteResponseDto update(
+    public ResponseEntity<NoteResponseDto> update(
             @PathVariable Long id,
-            @RequestBody NoteRequestDto requestDto
+            @RequestBody NoteRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return noteService.update(id, requestDto);
+        NoteResponseDto note = noteService.update(
+                id, requestDto, NoteETags.toExpectedVersion(ifMatch)
+        );
+        return withETag(note, HttpStatus.OK);
+    }
+
+    @PostMapping("/batch")
+    @QueryBudget(CREATE_BATCH_QUERY_BUDGET)
+    @Operation(summary = "Create several notes at once",
+            description = """
+                    Every note is validated on its own
+                    Valid notes are saved, non-valid ones are reported with an error
+                    Results are returned in the same order as notes were passed
+                    """)
+    public List<NoteBatchResultDto> createAll(@RequestBody List<NoteRequestDto> requestDtos) {
+        return noteService.createAll(requestDtos);
+    }
+
+    @PutMapping("/batch")
+    @QueryBudget(UPDATE_BATCH_QUERY_BUDGET)
+    @Operation(summary = "Update several notes at once",
+            description = """
+                    Pass id and title or content (or both) for every note
+                    Notes that can't be updated are reported with an error
+                    """)
+    public List<NoteBatchResultDto> updateAll(
+            @RequestBody List<NoteBatchUpdateRequestDto> requestDtos
+    ) {
+        return noteService.updateAll(requestDtos);
+    }
+
+    @DeleteMapping("/batch")
+    @QueryBudget(1)
+    @Operation(summary = "Delete several notes by ids",
+            description = """
+                    Ids that do not belong to any note are reported with an error
+                    """)
+    public List<NoteBatchResultDto> deleteAll(@RequestParam List<Long> ids) {
+        return noteService.deleteAll(ids);
     }
 
     @DeleteMapping("/{id}")
+    @QueryBudget(2)
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    @Operation(summary = "Delete a note by id")
-    public void delete(@PathVariable Long id) {
-        noteService.delete(id);
+    @Operation(summary = "Delete a note by id",
+            description = """
+                    Pass the ETag of the note in If-Match to delete it only if nobody changed it
+                    Otherwise you will get 412 Precondition Failed
+                    """)
+    public void delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        noteService.delete(id, NoteETags.toExpectedVersion(ifMatch));
     }
 
     @GetMapping("/search")
+    @QueryBudget(2)
     @Operation(summary = "Search for notes by params",
             description = """
                     You can search by 2 params (title and content)
@@ -82,12 +300,94 @@ public class NoteController {
                     
                     If both of them are present
                     Searching will be executed like that: %your_title% AND %your_content%
+                    
+                    If sorting is not passed - notes are ordered by relevance
+                    
+                    Pass includeTotal=true to get the total number of found notes
+                    in X-Total-Count header
                     """)
-    public List<NoteResponseDto> search(
+    public ResponseEntity<List<NoteResponseDto>> search(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String content,
-            Pageable pageable
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        return noteService.search(title, content, pageable);
+        return withTotalCount(
+                noteService.search(title, content, pageable),
+                NOTE_TAG,
+                includeTotal,
+                () -> noteService.countSearchResults(title, content)
+        );
+    }
+
+    @GetMapping(value = "/search", params = SUMMARY_VIEW_PARAM)
+    @QueryBudget(2)
+    @Operation(summary = "Search for notes by params and get them as summaries",
+            description = """
+                    Works like search, but returns only the beginning of notes content (snippet)
+                    """)
+    public ResponseEntity<List<NoteSummaryDto>> searchSummaries(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String content,
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return withTotalCount(
+                noteService.searchSummaries(title, content, pageable),
+                SUMMARY_TAG,
+                includeTotal,
+                () -> noteService.countSearchResults(title, content)
+        );
+    }
+
+    @GetMapping("/search/cursor")
+    @QueryBudget(2)
+    @Operation(summary = "Search for notes by params with cursor pagination",
+            description = """
+                    Works like search, but notes are ordered from the newest to the oldest
+                    
+                    Pass nextCursor from the previous response as after param to get the next page
+                    """)
+    public ResponseEntity<NoteCursorPageResponseDto> scrollSearch(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String content,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_SCROLL_SIZE) int size
+    ) {
+        return withETag(noteService.scrollSearch(title, content, after, size));
+    }
+
+    /*
+     a matching If-None-Match is answered with 304 by Spring before the body is written,
+     so an unchanged list costs its query, but not its serialization and transfer
+     */
+    private <T> ResponseEntity<List<T>> withTotalCount(
+            List<T> body,
+            Function<T, String> noteTag,
+            boolean includeTotal,
+            LongSupplier totalCountSupplier
+    ) {
+        if (!includeTotal) {
+            return ResponseEntity.ok()
+                    .eTag(NoteETags.ofList(body, noteTag))
+                    .body(body);
+        }
+        String totalCount = String.valueOf(totalCountSupplier.getAsLong());
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, totalCount)
+                .eTag(NoteETags.ofList(body, noteTag, totalCount))
+                .body(body);
+    }
+
+    private ResponseEntity<NoteCursorPageResponseDto> withETag(NoteCursorPageResponseDto page) {
+        return ResponseEntity.ok()
+                .eTag(NoteETags.ofList(page.content(), NOTE_TAG, page.nextCursor()))
+                .body(page);
+    }
+
+    private ResponseEntity<NoteResponseDto> withETag(NoteResponseDto note, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .eTag(NoteETags.of(note))
+                .body(note);
     }
 }
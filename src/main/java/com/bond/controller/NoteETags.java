@@ -0,0 +1,58 @@
+package com.bond.controller;
+
+import com.bond.dto.NoteResponseDto;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.util.DigestUtils;
+
+/*
+ a single note is tagged with its version, so an If-Match can be turned back into it
+ a list gets a weak tag with a hash of its notes, the bytes of the response are not compared
+ */
+final class NoteETags {
+    private static final String ANY_TAG = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+    private static final String NOTES_SEPARATOR = ";";
+    // never matches a real version, so a malformed If-Match fails as a stale one
+    private static final long UNKNOWN_VERSION = -1L;
+
+    private NoteETags() {
+    }
+
+    static String of(NoteResponseDto note) {
+        return QUOTE + note.version() + QUOTE;
+    }
+
+    static <T> String ofList(List<T> notes, Function<T, String> noteTag, Object... extras) {
+        String value = notes.stream()
+                .map(noteTag)
+                .collect(Collectors.joining(NOTES_SEPARATOR))
+                + NOTES_SEPARATOR
+                + List.of(extras);
+        return WEAK_PREFIX + QUOTE
+                + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8))
+                + QUOTE;
+    }
+
+    /*
+     If-Match uses strong comparison, so a weak tag never matches
+     null means the client does not care about the version (no header or *)
+     */
+    static Long toExpectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY_TAG.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith(QUOTE) || !tag.endsWith(QUOTE)) {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+}
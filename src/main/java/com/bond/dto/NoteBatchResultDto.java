@@ -0,0 +1,10 @@
+package com.bond.dto;
+
+public record NoteBatchResultDto(
+        int index,
+        Long id,
+        boolean success,
+        NoteResponseDto note,
+        String error
+) {
+}
@@ -0,0 +1,11 @@
+package com.bond.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record NoteBatchUpdateRequestDto(
+        @NotNull
+        Long id,
+        String title,
+        String content
+) {
+}
@@ -0,0 +1,14 @@
+package com.bond.dto;
+
+import java.time.LocalDateTime;
+
+public record NoteChangeDto(
+        Long id,
+        String title,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime lastUpdatedAt,
+        Long version,
+        boolean deleted
+) {
+}
@@ -0,0 +1,10 @@
+package com.bond.dto;
+
+import java.util.List;
+
+public record NoteChangesResponseDto(
+        List<NoteChangeDto> changes,
+        String nextToken,
+        boolean hasMore
+) {
+}
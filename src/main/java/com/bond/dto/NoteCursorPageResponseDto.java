@@ -0,0 +1,10 @@
+package com.bond.dto;
+
+import java.util.List;
+
+public record NoteCursorPageResponseDto(
+        List<NoteResponseDto> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,6 @@
+package com.bond.dto;
+
+public enum NoteImportFormat {
+    NDJSON,
+    CSV
+}
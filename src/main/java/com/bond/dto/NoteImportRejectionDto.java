@@ -0,0 +1,7 @@
+package com.bond.dto;
+
+public record NoteImportRejectionDto(
+        long line,
+        String reason
+) {
+}
@@ -0,0 +1,10 @@
+package com.bond.dto;
+
+import java.util.List;
+
+public record NoteImportResultDto(
+        long importedCount,
+        long rejectedCount,
+        List<NoteImportRejectionDto> rejections
+) {
+}
@@ -0,0 +1,8 @@
+package com.bond.dto;
+
+public record NotePurgeResultDto(
+        long purgedCount,
+        int batchCount,
+        long durationMillis
+) {
+}
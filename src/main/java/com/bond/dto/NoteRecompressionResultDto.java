@@ -0,0 +1,10 @@
+package com.bond.dto;
+
+public record NoteRecompressionResultDto(
+        long rewrittenCount,
+        int batchCount,
+        long durationMillis,
+        // nothing was rewritten because content of the server's notes can't use lz4
+        boolean skipped
+) {
+}
@@ -1,11 +1,14 @@
 package com.bond.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record NoteRequestDto(
         @NotBlank
+        @Size(max = 50)
         String title,
         @NotBlank
+        @Size(max = 20000)
         String content
 ) {
 }
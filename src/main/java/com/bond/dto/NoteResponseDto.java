@@ -7,6 +7,7 @@ public record NoteResponseDto(
         String title,
         String content,
         LocalDateTime createdAt,
-        LocalDateTime lastUpdatedAt
+        LocalDateTime lastUpdatedAt,
+        Long version
 ) {
 }
@@ -0,0 +1,15 @@
+package com.bond.dto;
+
+public record NoteStorageStatsDto(
+        long totalBytes,
+        long headerBytes,
+        long heapBytes,
+        long toastBytes,
+        long indexBytes,
+        long rowCount,
+        long lz4CompressedCount,
+        long pglzCompressedCount,
+        long contentBytes,
+        long storedContentBytes
+) {
+}
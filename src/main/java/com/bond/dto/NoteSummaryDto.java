@@ -0,0 +1,12 @@
+package com.bond.dto;
+
+import java.time.LocalDateTime;
+
+public record NoteSummaryDto(
+        Long id,
+        String title,
+        String snippet,
+        LocalDateTime createdAt,
+        LocalDateTime lastUpdatedAt
+) {
+}
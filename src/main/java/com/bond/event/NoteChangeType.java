@@ -0,0 +1,7 @@
+package com.bond.event;
+
+public enum NoteChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,23 @@
+package com.bond.event;
+
+import com.bond.dto.NoteResponseDto;
+
+// a deleted note comes only with its id
+public record NoteChangedEvent(
+        NoteChangeType type,
+        Long id,
+        NoteResponseDto note
+) {
+
+    public static NoteChangedEvent created(NoteResponseDto note) {
+        return new NoteChangedEvent(NoteChangeType.CREATED, note.id(), note);
+    }
+
+    public static NoteChangedEvent updated(NoteResponseDto note) {
+        return new NoteChangedEvent(NoteChangeType.UPDATED, note.id(), note);
+    }
+
+    public static NoteChangedEvent deleted(Long id) {
+        return new NoteChangedEvent(NoteChangeType.DELETED, id, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bond.event;
+
+import com.bond.dto.NoteResponseDto;
+import java.util.List;
+
+// unlike NoteChangedEvent it is not pushed to stream subscribers one note at a time
+public record NotesImportedEvent(List<NoteResponseDto> notes) {
+}
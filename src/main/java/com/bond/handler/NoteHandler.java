@@ -0,0 +1,184 @@
+package com.bond.handler;
+
+import com.bond.dto.NoteCursorPageResponseDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import com.bond.service.ReactiveNoteService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// lists are streamed as they are read, as NDJSON when it is asked for, else as a JSON array
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class NoteHandler {
+    private static final String TIME_STAMP = "timestamp";
+    private static final String STATUS = "status";
+    private static final String MESSAGE = "message";
+    private static final String ERRORS = "errors";
+    private static final String SORT_DELIMITER = ",";
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final int DEFAULT_SCROLL_SIZE = 6;
+    private final ReactiveNoteService reactiveNoteService;
+    private final Validator validator;
+    @Value("${spring.data.web.pageable.default-page-size:20}")
+    private int defaultPageSize;
+
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        return streamList(request, reactiveNoteService.getAll(getPageable(request)));
+    }
+
+    public Mono<ServerResponse> scroll(ServerRequest request) {
+        return ServerResponse.ok().body(
+                reactiveNoteService.scroll(
+                        request.queryParam("after").orElse(null),
+                        getScrollSize(request)
+                ),
+                NoteCursorPageResponseDto.class
+        );
+    }
+
+    public Mono<ServerResponse> getById(ServerRequest request) {
+        return reactiveNoteService.getById(getId(request))
+                .flatMap(responseDto -> ServerResponse.ok().bodyValue(responseDto));
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(NoteRequestDto.class)
+                .flatMap(requestDto -> {
+                    List<String> errors = getErrors(requestDto);
+                    if (!errors.isEmpty()) {
+                        return validationFailed(errors);
+                    }
+                    return reactiveNoteService.create(requestDto)
+                            .flatMap(responseDto -> ServerResponse
+                                    .created(URI.create("/notes/" + responseDto.id()))
+                                    .bodyValue(responseDto));
+                });
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        return request.bodyToMono(NoteRequestDto.class)
+                .flatMap(requestDto -> reactiveNoteService.update(getId(request), requestDto))
+                .flatMap(responseDto -> ServerResponse.ok().bodyValue(responseDto));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        return reactiveNoteService.delete(getId(request))
+                .then(ServerResponse.noContent().build());
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        return streamList(request, reactiveNoteService.search(
+                request.queryParam("title").orElse(null),
+                request.queryParam("content").orElse(null),
+                getPageable(request)
+        ));
+    }
+
+    public Mono<ServerResponse> scrollSearch(ServerRequest request) {
+        return ServerResponse.ok().body(
+                reactiveNoteService.scrollSearch(
+                        request.queryParam("title").orElse(null),
+                        request.queryParam("content").orElse(null),
+                        request.queryParam("after").orElse(null),
+                        getScrollSize(request)
+                ),
+                NoteCursorPageResponseDto.class
+        );
+    }
+
+    public Mono<ServerResponse> badRequest(Throwable throwable, ServerRequest request) {
+        Map<String, Object> body = getBody(HttpStatus.BAD_REQUEST);
+        body.put(MESSAGE, throwable.getMessage());
+        return ServerResponse.badRequest().bodyValue(body);
+    }
+
+    private Mono<ServerResponse> streamList(
+            ServerRequest request,
+            Flux<NoteResponseDto> notes
+    ) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(mediaType)
+                .body(notes, NoteResponseDto.class);
+    }
+
+    private Mono<ServerResponse> validationFailed(List<String> errors) {
+        Map<String, Object> body = getBody(HttpStatus.BAD_REQUEST);
+        body.put(ERRORS, errors);
+        return ServerResponse.badRequest().bodyValue(body);
+    }
+
+    private List<String> getErrors(NoteRequestDto requestDto) {
+        return validator.validate(requestDto)
+                .stream()
+                .map(this::getErrorMessage)
+                .sorted()
+                .toList();
+    }
+
+    private String getErrorMessage(ConstraintViolation<NoteRequestDto> violation) {
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+
+    private Map<String, Object> getBody(HttpStatus status) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put(TIME_STAMP, LocalDateTime.now());
+        body.put(STATUS, status);
+        return body;
+    }
+
+    private Long getId(ServerRequest request) {
+        return Long.valueOf(request.pathVariable("id"));
+    }
+
+    private int getScrollSize(ServerRequest request) {
+        return request.queryParam("size")
+                .map(Integer::parseInt)
+                .orElse(DEFAULT_SCROLL_SIZE);
+    }
+
+    private Pageable getPageable(ServerRequest request) {
+        int page = request.queryParam("page")
+                .map(Integer::parseInt)
+                .orElse(0);
+        int size = request.queryParam("size")
+                .map(Integer::parseInt)
+                .orElse(defaultPageSize);
+        Sort sort = Sort.by(request.queryParams()
+                .getOrDefault("sort", List.of())
+                .stream()
+                .map(this::toOrder)
+                .toList());
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), sort);
+    }
+
+    private Sort.Order toOrder(String sortParam) {
+        String[] parts = sortParam.split(SORT_DELIMITER);
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1])
+                : Sort.Direction.ASC;
+        return new Sort.Order(direction, parts[0]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bond.interceptor;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+// virtual threads don't cap concurrency, so requests past the pool size get 503 here
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notes.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+@Profile("!reactive")
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".PERMIT";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private final Semaphore semaphore;
+    private final Duration maxWait;
+
+    public BulkheadInterceptor(
+            @Value("${notes.bulkhead.max-concurrent-requests:20}") int maxConcurrentRequests,
+            @Value("${notes.bulkhead.max-wait:2s}") Duration maxWait
+    ) {
+        this.semaphore = new Semaphore(maxConcurrentRequests, true);
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) throws InterruptedException {
+        // an async dispatch finishes a request that already went through the bulkhead
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (semaphore.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+        log.warn("Rejecting {} {}, all {} permits are busy",
+                request.getMethod(), request.getRequestURI(), semaphore.availablePermits());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex
+    ) {
+        release(request);
+    }
+
+    /*
+     an emitter holds no connection while it waits for events, so its permit is released
+     other async handlers, like the streamed export, keep reading from the database,
+     their permit is released by afterCompletion of the async dispatch
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        if (handler instanceof HandlerMethod handlerMethod && ResponseBodyEmitter.class
+                .isAssignableFrom(handlerMethod.getReturnType().getParameterType())) {
+            release(request);
+        }
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            semaphore.release();
+        }
+    }
+}
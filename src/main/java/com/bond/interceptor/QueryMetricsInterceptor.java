@@ -0,0 +1,107 @@
+package com.bond.interceptor;
+
+import com.bond.metrics.QueryBudget;
+import com.bond.metrics.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// tagged the same way as http.server.requests
+@Slf4j
+@Component
+@Profile("!reactive")
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+    public static final String QUERIES_PER_REQUEST_METRIC = "notes.http.queries";
+    public static final String BUDGET_EXCEEDED_METRIC = "notes.http.query-budget.exceeded";
+    private static final String START_COUNT_ATTRIBUTE =
+            QueryMetricsInterceptor.class.getName() + ".START_COUNT";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+
+    public QueryMetricsInterceptor(
+            QueryCounter queryCounter,
+            MeterRegistry meterRegistry,
+            @Value("${notes.query-budget.default:10}") int defaultBudget
+    ) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        request.setAttribute(START_COUNT_ATTRIBUTE, queryCounter.current());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex
+    ) {
+        record(request, response, handler);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        record(request, response, handler);
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object startCount = request.getAttribute(START_COUNT_ATTRIBUTE);
+        if (startCount == null) {
+            return;
+        }
+        request.removeAttribute(START_COUNT_ATTRIBUTE);
+        long queries = queryCounter.current() - (long) startCount;
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", uri == null ? UNKNOWN_URI : uri.toString(),
+                "outcome", Outcome.forStatus(response.getStatus()).name()
+        );
+        DistributionSummary.builder(QUERIES_PER_REQUEST_METRIC)
+                .baseUnit("queries")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(queries);
+        int budget = getBudget(handler);
+        if (queries > budget) {
+            meterRegistry.counter(BUDGET_EXCEEDED_METRIC, tags).increment();
+            log.warn("{} {} executed {} queries, its budget is {}",
+                    request.getMethod(), uri, queries, budget);
+        }
+    }
+
+    private int getBudget(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget queryBudget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (queryBudget != null) {
+                return queryBudget.value();
+            }
+        }
+        return defaultBudget;
+    }
+}
@@ -4,6 +4,7 @@ import com.bond.config.MapperConfig;
 import com.bond.dto.NoteRequestDto;
 import com.bond.dto.NoteResponseDto;
 import com.bond.model.Note;
+import com.bond.model.NoteRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
@@ -12,6 +13,8 @@ public interface NoteMapper {
 
     NoteResponseDto toResponseDto(Note note);
 
+    NoteResponseDto toResponseDto(NoteRow noteRow);
+
     Note toModel(NoteRequestDto requestDto);
 
     Note toUpdatedModel(@MappingTarget Note note, NoteRequestDto requestDto);
@@ -0,0 +1,15 @@
+package com.bond.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// handler methods without it get notes.query-budget.default
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int value();
+}
@@ -0,0 +1,27 @@
+package com.bond.metrics;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/*
+ counts statements of the current thread, a JDBC batch is one round trip and counts once
+ the count only grows, callers take it before and after the work they measure
+ */
+public class QueryCounter implements QueryExecutionListener {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        COUNT.get()[0]++;
+    }
+
+    public long current() {
+        return COUNT.get()[0];
+    }
+}
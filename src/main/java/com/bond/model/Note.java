@@ -1,14 +1,21 @@
 package com.bond.model;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
@@ -16,25 +23,57 @@ import org.hibernate.annotations.Where;
 @Entity
 @Data
 @Table(name = "notes")
-@SQLDelete(sql = "UPDATE notes SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = """
+        UPDATE notes SET is_deleted = TRUE, deleted_at = LOCALTIMESTAMP, version = version + 1
+        WHERE id = ? AND version = ?
+        """)
 @Where(clause = "is_deleted = FALSE")
 @Accessors(chain = true)
 public class Note {
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String BODY_FIELD = "body";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notes_seq")
+    @SequenceGenerator(
+            name = "notes_seq",
+            sequenceName = "notes_seq",
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     @NotBlank
     private String title;
 
-    @NotBlank
-    private String content;
-
     @NotNull
     private LocalDateTime createdAt;
 
     private LocalDateTime lastUpdatedAt;
 
     private boolean isDeleted = false;
+
+    @Version
+    private Long version;
+
+    /*
+     optional = false lets Hibernate put a proxy here instead of querying note_bodies
+     to find out whether there is a body, so the content is read only when it is used
+     */
+    @OneToOne(mappedBy = "note", fetch = FetchType.LAZY, optional = false,
+            cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private NoteBody body;
+
+    public String getContent() {
+        return body == null ? null : body.getContent();
+    }
+
+    public Note setContent(String content) {
+        if (body == null) {
+            body = new NoteBody().setNote(this);
+        }
+        body.setContent(content);
+        return this;
+    }
 }
@@ -0,0 +1,34 @@
+package com.bond.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+// kept apart from the narrow notes table and loaded only when it is read
+@Entity
+@Data
+@Table(name = "note_bodies")
+@Accessors(chain = true)
+public class NoteBody {
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "note_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Note note;
+
+    @NotBlank
+    private String content;
+}
@@ -0,0 +1,37 @@
+package com.bond.model;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/*
+ soft deleted rows are not filtered automatically, every query has to exclude them itself
+ content lives in note_bodies, it is joined by the queries and written separately
+ */
+@Data
+@Table("notes")
+@Accessors(chain = true)
+public class NoteRow {
+    @Id
+    private Long id;
+
+    private String title;
+
+    @ReadOnlyProperty
+    private String content;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastUpdatedAt;
+
+    @Column("is_deleted")
+    private boolean deleted;
+
+    @Version
+    private Long version;
+}
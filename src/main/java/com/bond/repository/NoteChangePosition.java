@@ -0,0 +1,6 @@
+package com.bond.repository;
+
+// the feed is ordered by the transaction that changed a note last, then by the id of the note
+public record NoteChangePosition(long changeXid, long id) {
+    public static final NoteChangePosition INITIAL = new NoteChangePosition(0, 0);
+}
@@ -0,0 +1,65 @@
+package com.bond.repository;
+
+import com.bond.dto.NoteChangeDto;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteChangeRepository {
+    /*
+     change_xid is set by a trigger to the id of the transaction that inserted or updated a row
+     only rows of transactions older than every running one are returned (below snapshot xmin),
+     so a transaction committing later can never add a row behind a position already passed
+     soft deleted rows are returned as tombstones without their title and content
+     */
+    private static final String FIND_CHANGES_QUERY = """
+            SELECT n.id,
+                CASE WHEN n.is_deleted THEN NULL ELSE n.title END AS title,
+                CASE WHEN n.is_deleted THEN NULL ELSE b.content END AS content,
+                n.created_at, n.last_updated_at, n.version, n.is_deleted, n.change_xid
+            FROM notes n
+            JOIN note_bodies b ON b.note_id = n.id
+            WHERE (n.change_xid, n.id) > (?, ?)
+            AND n.change_xid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY n.change_xid, n.id
+            LIMIT ?
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<NoteChange> findChangesAfter(NoteChangePosition position, int limit) {
+        return jdbcTemplate.query(
+                FIND_CHANGES_QUERY,
+                (resultSet, rowNumber) -> toNoteChange(resultSet),
+                position.changeXid(),
+                position.id(),
+                limit
+        );
+    }
+
+    private NoteChange toNoteChange(ResultSet resultSet) throws SQLException {
+        NoteChangeDto note = new NoteChangeDto(
+                resultSet.getLong("id"),
+                resultSet.getString("title"),
+                resultSet.getString("content"),
+                resultSet.getObject("created_at", LocalDateTime.class),
+                resultSet.getObject("last_updated_at", LocalDateTime.class),
+                resultSet.getLong("version"),
+                resultSet.getBoolean("is_deleted")
+        );
+        return new NoteChange(
+                note,
+                new NoteChangePosition(resultSet.getLong("change_xid"), note.id())
+        );
+    }
+
+    public record NoteChange(NoteChangeDto note, NoteChangePosition position) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.bond.repository;
+
+import com.bond.model.Note;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteCopyRepository {
+    private static final String COPY_NOTES_QUERY = """
+            COPY notes (id, title, created_at, last_updated_at)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+    private static final String COPY_BODIES_QUERY = """
+            COPY note_bodies (note_id, content)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+    private static final String NEXT_IDS_QUERY = """
+            SELECT nextval('notes_seq') FROM generate_series(1, ?)
+            """;
+    private static final char QUOTE = '"';
+    private static final char SEPARATOR = ',';
+    private static final char LINE_SEPARATOR = '\n';
+    private final DataSource dataSource;
+
+    /*
+     every nextval('notes_seq') reserves a block of Note.ID_ALLOCATION_SIZE ids
+     (the same pooled-lo scheme Hibernate uses), so ids do not clash with ones given by Hibernate
+     notes and their bodies are copied in one transaction, so no note is left without a body
+     */
+    public void copyIn(List<Note> notes) {
+        if (notes.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            assignIds(connection, notes);
+            StringBuilder notesCsv = new StringBuilder();
+            StringBuilder bodiesCsv = new StringBuilder();
+            for (Note note : notes) {
+                notesCsv.append(note.getId()).append(SEPARATOR);
+                appendQuoted(notesCsv, note.getTitle()).append(SEPARATOR);
+                notesCsv.append(note.getCreatedAt()).append(SEPARATOR);
+                notesCsv.append(note.getLastUpdatedAt()).append(LINE_SEPARATOR);
+                bodiesCsv.append(note.getId()).append(SEPARATOR);
+                appendQuoted(bodiesCsv, note.getContent()).append(LINE_SEPARATOR);
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            connection.setAutoCommit(false);
+            try {
+                copyManager.copyIn(COPY_NOTES_QUERY, new StringReader(notesCsv.toString()));
+                copyManager.copyIn(COPY_BODIES_QUERY, new StringReader(bodiesCsv.toString()));
+                connection.commit();
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("Can't copy notes to database", e);
+        }
+    }
+
+    private void assignIds(Connection connection, List<Note> notes) throws SQLException {
+        int blocks = (notes.size() + Note.ID_ALLOCATION_SIZE - 1) / Note.ID_ALLOCATION_SIZE;
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_IDS_QUERY)) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int index = 0;
+                while (resultSet.next() && index < notes.size()) {
+                    long blockStart = resultSet.getLong(1);
+                    for (int i = 0; i < Note.ID_ALLOCATION_SIZE && index < notes.size(); i++) {
+                        notes.get(index++).setId(blockStart + i);
+                    }
+                }
+            }
+        }
+    }
+
+    private StringBuilder appendQuoted(StringBuilder csv, String value) {
+        return csv.append(QUOTE)
+                .append(value.replace(String.valueOf(QUOTE), "" + QUOTE + QUOTE))
+                .append(QUOTE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bond.repository;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteIndexRepository {
+    private static final String NOTES_TABLE = "notes";
+    private static final String NOTE_BODIES_TABLE = "note_bodies";
+    private static final String FIND_INDEX_NAMES_QUERY = """
+            SELECT indexname FROM pg_indexes WHERE tablename IN (?, ?)
+            """;
+    private static final String FIND_BTREE_LEADING_COLUMNS_QUERY = """
+            SELECT DISTINCT a.attname
+            FROM pg_index i
+            JOIN pg_class t ON t.oid = i.indrelid
+            JOIN pg_class ix ON ix.oid = i.indexrelid
+            JOIN pg_am am ON am.oid = ix.relam
+            JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = i.indkey[0]
+            WHERE t.relname = ? AND am.amname = 'btree'
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<String> findIndexNames() {
+        return jdbcTemplate.queryForList(
+                FIND_INDEX_NAMES_QUERY, String.class, NOTES_TABLE, NOTE_BODIES_TABLE
+        );
+    }
+
+    public List<String> findSortableColumns() {
+        return jdbcTemplate.queryForList(
+                FIND_BTREE_LEADING_COLUMNS_QUERY, String.class, NOTES_TABLE
+        );
+    }
+}
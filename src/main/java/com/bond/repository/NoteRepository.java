@@ -1,8 +1,77 @@
 package com.bond.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.bond.model.Note;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface NoteRepository extends JpaRepository<Note, Long>,
+        JpaSpecificationExecutor<Note>, NoteRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = Note.BODY_FIELD)
+    Optional<Note> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = Note.BODY_FIELD)
+    List<Note> findAllById(Iterable<Long> ids);
+
+    @Query("SELECT n FROM Note n JOIN FETCH n.body ORDER BY n.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Note> streamAll();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE notes SET is_deleted = TRUE, deleted_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id = :id AND is_deleted = FALSE
+            """, nativeQuery = true)
+    int softDeleteById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE notes SET is_deleted = TRUE, deleted_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id = :id AND version = :version AND is_deleted = FALSE
+            """, nativeQuery = true)
+    int softDeleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    // not @Modifying, a modifying query can only return the affected rows count
+    @Query(value = """
+            UPDATE notes SET is_deleted = TRUE, deleted_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id IN (:ids) AND is_deleted = FALSE
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> softDeleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
-public interface NoteRepository extends JpaRepository<Note, Long>, JpaSpecificationExecutor<Note> {
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM notes WHERE id IN (
+                SELECT id FROM notes
+                WHERE is_deleted = TRUE
+                AND deleted_at < LOCALTIMESTAMP - make_interval(secs => :retentionSeconds)
+                ORDER BY deleted_at, id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int purgeDeleted(
+            @Param("retentionSeconds") long retentionSeconds,
+            @Param("batchSize") int batchSize
+    );
 }
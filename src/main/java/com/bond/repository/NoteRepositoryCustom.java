@@ -0,0 +1,29 @@
+package com.bond.repository;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
+import com.bond.model.Note;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface NoteRepositoryCustom {
+
+    Slice<Note> findSlice(Specification<Note> specification, Pageable pageable);
+
+    Slice<NoteSummaryDto> findSummarySlice(
+            Specification<Note> specification,
+            Pageable pageable,
+            int snippetLength
+    );
+
+    Optional<NoteResponseDto> updatePartially(
+            Long id,
+            String title,
+            String content,
+            Long expectedVersion,
+            LocalDateTime lastUpdatedAt
+    );
+}
@@ -0,0 +1,180 @@
+package com.bond.repository;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
+import com.bond.model.Note;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+public class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+    private static final String ID_FIELD = "id";
+    private static final String TITLE_FIELD = "title";
+    private static final String CONTENT_FIELD = "content";
+    private static final String CREATED_AT_FIELD = "createdAt";
+    private static final String LAST_UPDATED_AT_FIELD = "lastUpdatedAt";
+    private static final String BODY_CONTENT_PATH = Note.BODY_FIELD + "." + CONTENT_FIELD;
+    /*
+     the body is updated only when content is passed, otherwise the current one is returned
+     */
+    private static final String UPDATE_PARTIALLY_QUERY = """
+            WITH updated_note AS (
+                UPDATE notes
+                SET title = COALESCE(:title, title),
+                    last_updated_at = :lastUpdatedAt,
+                    version = version + 1
+                WHERE id = :id AND is_deleted = FALSE %s
+                RETURNING id, title, created_at, last_updated_at, version
+            ), updated_body AS (
+                UPDATE note_bodies b
+                SET content = :content
+                FROM updated_note n
+                WHERE b.note_id = n.id AND CAST(:content AS VARCHAR) IS NOT NULL
+                RETURNING b.note_id, b.content
+            )
+            SELECT n.id, n.title, COALESCE(ub.content, b.content) AS content,
+                n.created_at, n.last_updated_at, n.version
+            FROM updated_note n
+            JOIN note_bodies b ON b.note_id = n.id
+            LEFT JOIN updated_body ub ON ub.note_id = n.id
+            """;
+    private static final String VERSION_CONDITION = "AND version = :version";
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Note> findSlice(Specification<Note> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Note> criteriaQuery = criteriaBuilder.createQuery(Note.class);
+        Root<Note> root = criteriaQuery.from(Note.class);
+        // responses carry the content, the bodies of the page rows come with the same query
+        root.fetch(Note.BODY_FIELD);
+        return getSlice(criteriaQuery, root, specification, pageable);
+    }
+
+    // the snippet is cut by the database, so the full content never leaves it
+    @Override
+    public Slice<NoteSummaryDto> findSummarySlice(
+            Specification<Note> specification,
+            Pageable pageable,
+            int snippetLength
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NoteSummaryDto> criteriaQuery =
+                criteriaBuilder.createQuery(NoteSummaryDto.class);
+        Root<Note> root = criteriaQuery.from(Note.class);
+        criteriaQuery.select(criteriaBuilder.construct(
+                NoteSummaryDto.class,
+                root.get(ID_FIELD),
+                root.get(TITLE_FIELD),
+                criteriaBuilder.substring(
+                        root.join(Note.BODY_FIELD).get(CONTENT_FIELD), 1, snippetLength
+                ),
+                root.get(CREATED_AT_FIELD),
+                root.get(LAST_UPDATED_AT_FIELD)
+        ));
+        return getSlice(criteriaQuery, root, specification, pageable);
+    }
+
+    /*
+     the note is neither loaded nor dirty checked, null fields keep their values
+     and the updated row comes back in the same round trip
+     when expectedVersion is passed, a note with another version is not updated
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<NoteResponseDto> updatePartially(
+            Long id,
+            String title,
+            String content,
+            Long expectedVersion,
+            LocalDateTime lastUpdatedAt
+    ) {
+        String sql = UPDATE_PARTIALLY_QUERY
+                .formatted(expectedVersion == null ? "" : VERSION_CONDITION);
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("content", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("last_updated_at", LocalDateTime.class)
+                .addScalar("version", Long.class)
+                .setParameter("id", id)
+                .setParameter("title", title, String.class)
+                .setParameter("content", content, String.class)
+                .setParameter("lastUpdatedAt", lastUpdatedAt);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.getResultList()
+                .stream()
+                .findFirst()
+                .map(row -> new NoteResponseDto(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (LocalDateTime) row[3],
+                        (LocalDateTime) row[4],
+                        (Long) row[5]
+                ));
+    }
+
+    /*
+     unlike findAll(Pageable) it does not run a count query
+     one extra row is fetched to find out whether there is a next slice
+     */
+    private <T> Slice<T> getSlice(
+            CriteriaQuery<T> criteriaQuery,
+            Root<Note> root,
+            Specification<Note> specification,
+            Pageable pageable
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        Predicate predicate = specification.toPredicate(root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            criteriaQuery.orderBy(QueryUtils.toOrders(
+                    toEntitySort(pageable.getSort()), root, criteriaBuilder
+            ));
+        }
+        TypedQuery<T> query = entityManager.createQuery(criteriaQuery);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<T> content = query.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(
+                hasNext ? content.subList(0, pageable.getPageSize()) : content,
+                pageable,
+                hasNext
+        );
+    }
+
+    // content is a property of the body, but it is still sorted by as "content"
+    private Sort toEntitySort(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> CONTENT_FIELD.equals(order.getProperty())
+                        ? order.withProperty(BODY_CONTENT_PATH)
+                        : order)
+                .toList());
+    }
+}
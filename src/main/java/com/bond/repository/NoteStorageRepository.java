@@ -0,0 +1,93 @@
+package com.bond.repository;
+
+import com.bond.dto.NoteStorageStatsDto;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteStorageRepository {
+    /*
+     a changed value is compressed again with the current method of the column,
+     while an untouched one keeps its old TOAST pointer, so content is rebuilt with || ''
+     notes rows are not touched, so the rewrite is neither a conflict nor a change for the feed
+     inline and uncompressed values have no compression method and are left as they are
+     */
+    private static final String REWRITE_CONTENT_QUERY = """
+            UPDATE note_bodies SET content = content || ''
+            WHERE note_id IN (
+                SELECT note_id FROM note_bodies
+                WHERE note_id > ?
+                AND octet_length(content) >= ?
+                AND pg_column_compression(content) = 'pglz'
+                ORDER BY note_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING note_id
+            """;
+    // set by 10-move-notes-content-to-note-bodies.yml only when the server is built with lz4
+    private static final String IS_CONTENT_LZ4_QUERY = """
+            SELECT attcompression = 'l' FROM pg_attribute
+            WHERE attrelid = 'note_bodies'::regclass AND attname = 'content'
+            """;
+    /*
+     sizes are summed over notes and note_bodies, header_bytes is the narrow notes table alone
+     octet_length and pg_column_size read the TOAST header only, nothing is decompressed
+     */
+    private static final String STATS_QUERY = """
+            SELECT SUM(pg_total_relation_size(c.oid)) AS total_bytes,
+                SUM(pg_total_relation_size(c.oid)) FILTER (WHERE c.relname = 'notes')
+                    AS header_bytes,
+                SUM(pg_relation_size(c.oid)) AS heap_bytes,
+                SUM(COALESCE(pg_total_relation_size(NULLIF(c.reltoastrelid, 0)), 0))
+                    AS toast_bytes,
+                SUM(pg_indexes_size(c.oid)) AS index_bytes,
+                MIN(n.row_count) AS row_count, MIN(n.lz4_count) AS lz4_count,
+                MIN(n.pglz_count) AS pglz_count, MIN(n.content_bytes) AS content_bytes,
+                MIN(n.stored_content_bytes) AS stored_content_bytes
+            FROM pg_class c
+            CROSS JOIN (
+                SELECT COUNT(*) AS row_count,
+                    COUNT(*) FILTER (WHERE pg_column_compression(content) = 'lz4') AS lz4_count,
+                    COUNT(*) FILTER (WHERE pg_column_compression(content) = 'pglz') AS pglz_count,
+                    COALESCE(SUM(octet_length(content)), 0) AS content_bytes,
+                    COALESCE(SUM(pg_column_size(content)), 0) AS stored_content_bytes
+                FROM note_bodies
+            ) n
+            WHERE c.oid IN ('notes'::regclass, 'note_bodies'::regclass)
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> rewriteContent(long afterId, int minBytes, int batchSize) {
+        return jdbcTemplate.queryForList(
+                REWRITE_CONTENT_QUERY, Long.class, afterId, minBytes, batchSize
+        );
+    }
+
+    public boolean isContentCompressedWithLz4() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(IS_CONTENT_LZ4_QUERY, Boolean.class)
+        );
+    }
+
+    public NoteStorageStatsDto getStats() {
+        return jdbcTemplate.queryForObject(STATS_QUERY, (resultSet, rowNumber) ->
+                new NoteStorageStatsDto(
+                        resultSet.getLong("total_bytes"),
+                        resultSet.getLong("header_bytes"),
+                        resultSet.getLong("heap_bytes"),
+                        resultSet.getLong("toast_bytes"),
+                        resultSet.getLong("index_bytes"),
+                        resultSet.getLong("row_count"),
+                        resultSet.getLong("lz4_count"),
+                        resultSet.getLong("pglz_count"),
+                        resultSet.getLong("content_bytes"),
+                        resultSet.getLong("stored_content_bytes")
+                ));
+    }
+}
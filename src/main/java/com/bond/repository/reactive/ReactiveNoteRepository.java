@@ -0,0 +1,33 @@
+package com.bond.repository.reactive;
+
+import com.bond.model.NoteRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveNoteRepository extends R2dbcRepository<NoteRow, Long>,
+        ReactiveNoteRepositoryCustom {
+
+    @Query("""
+            SELECT n.*, b.content FROM notes n
+            JOIN note_bodies b ON b.note_id = n.id
+            WHERE n.id = :id AND n.is_deleted = FALSE
+            """)
+    Mono<NoteRow> findByIdAndDeletedFalse(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            INSERT INTO note_bodies (note_id, content) VALUES (:noteId, :content)
+            ON CONFLICT (note_id) DO UPDATE SET content = EXCLUDED.content
+            """)
+    Mono<Integer> saveBody(@Param("noteId") Long noteId, @Param("content") String content);
+
+    @Modifying
+    @Query("""
+            UPDATE notes SET is_deleted = TRUE, deleted_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id = :id AND is_deleted = FALSE
+            """)
+    Mono<Integer> softDeleteById(@Param("id") Long id);
+}
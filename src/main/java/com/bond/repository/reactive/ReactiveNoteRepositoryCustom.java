@@ -0,0 +1,19 @@
+package com.bond.repository.reactive;
+
+import com.bond.model.NoteRow;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveNoteRepositoryCustom {
+
+    Flux<NoteRow> findPage(String title, String content, Pageable pageable);
+
+    Flux<NoteRow> findAfter(
+            String title,
+            String content,
+            LocalDateTime createdAt,
+            Long id,
+            int limit
+    );
+}
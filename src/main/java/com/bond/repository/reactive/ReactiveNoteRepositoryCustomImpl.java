@@ -0,0 +1,146 @@
+package com.bond.repository.reactive;
+
+import com.bond.model.NoteRow;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/*
+ the same SQL the servlet stack gets from NoteSpecificationBuilder and keyset scrolling,
+ written by hand because R2DBC criteria can't express lower(column) LIKE or word_similarity
+ */
+public class ReactiveNoteRepositoryCustomImpl implements ReactiveNoteRepositoryCustom {
+    private static final String SELECT_NOTES = """
+            SELECT n.*, b.content FROM notes n
+            JOIN note_bodies b ON b.note_id = n.id
+            WHERE n.is_deleted = FALSE""";
+    private static final String TITLE_COLUMN = "title";
+    private static final String CONTENT_COLUMN = "content";
+    private static final char ESCAPE_CHARACTER = '\\';
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    public ReactiveNoteRepositoryCustomImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.databaseClient = r2dbcEntityTemplate.getDatabaseClient();
+        this.converter = r2dbcEntityTemplate.getConverter();
+    }
+
+    @Override
+    public Flux<NoteRow> findPage(String title, String content, Pageable pageable) {
+        StringBuilder sql = new StringBuilder(SELECT_NOTES);
+        Map<String, Object> params = new LinkedHashMap<>();
+        addCondition(sql, params, TITLE_COLUMN, title);
+        addCondition(sql, params, CONTENT_COLUMN, content);
+        if (pageable.getSort().isSorted()) {
+            sql.append(" ORDER BY ").append(toOrderBy(pageable.getSort()));
+        } else {
+            List<String> ranks = new ArrayList<>();
+            addRank(ranks, params, TITLE_COLUMN, title);
+            addRank(ranks, params, CONTENT_COLUMN, content);
+            if (!ranks.isEmpty()) {
+                sql.append(" ORDER BY ").append(String.join(" + ", ranks)).append(" DESC");
+            }
+        }
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            params.put("limit", pageable.getPageSize());
+            params.put("offset", pageable.getOffset());
+        }
+        return query(sql.toString(), params);
+    }
+
+    @Override
+    public Flux<NoteRow> findAfter(
+            String title,
+            String content,
+            LocalDateTime createdAt,
+            Long id,
+            int limit
+    ) {
+        StringBuilder sql = new StringBuilder(SELECT_NOTES);
+        Map<String, Object> params = new LinkedHashMap<>();
+        addCondition(sql, params, TITLE_COLUMN, title);
+        addCondition(sql, params, CONTENT_COLUMN, content);
+        if (createdAt != null && id != null) {
+            sql.append(" AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id))");
+            params.put("createdAt", createdAt);
+            params.put("id", id);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        params.put("limit", limit);
+        return query(sql.toString(), params);
+    }
+
+    private Flux<NoteRow> query(String sql, Map<String, Object> params) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map((row, metadata) -> converter.read(NoteRow.class, row, metadata))
+                .all();
+    }
+
+    private void addCondition(
+            StringBuilder sql,
+            Map<String, Object> params,
+            String column,
+            String value
+    ) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        sql.append(" AND lower(").append(column).append(") LIKE :").append(column)
+                .append(" ESCAPE '").append(ESCAPE_CHARACTER).append("'");
+        params.put(column, "%" + escape(value.toLowerCase(Locale.ROOT)) + "%");
+    }
+
+    private void addRank(
+            List<String> ranks,
+            Map<String, Object> params,
+            String column,
+            String value
+    ) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String param = column + "Rank";
+        ranks.add("word_similarity(:" + param + ", lower(" + column + "))");
+        params.put(param, value.toLowerCase(Locale.ROOT));
+    }
+
+    private String toOrderBy(Sort sort) {
+        RelationalPersistentEntity<?> entity = converter.getMappingContext()
+                .getRequiredPersistentEntity(NoteRow.class);
+        return sort.stream()
+                .map(order -> {
+                    RelationalPersistentProperty property =
+                            entity.getPersistentProperty(order.getProperty());
+                    if (property == null) {
+                        throw new IllegalArgumentException(
+                                "Notes can't be sorted by " + order.getProperty()
+                        );
+                    }
+                    return property.getColumnName().getReference() + " " + order.getDirection();
+                })
+                .collect(Collectors.joining(", "));
+    }
+
+    private String escape(String value) {
+        return value
+                .replace(String.valueOf(ESCAPE_CHARACTER), "" + ESCAPE_CHARACTER + ESCAPE_CHARACTER)
+                .replace("%", ESCAPE_CHARACTER + "%")
+                .replace("_", ESCAPE_CHARACTER + "_");
+    }
+}
@@ -0,0 +1,93 @@
+package com.bond.repository.specification;
+
+import com.bond.model.Note;
+import com.bond.model.NoteBody;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NoteSpecificationBuilder {
+    private static final String TITLE_FIELD = "title";
+    private static final String CONTENT_FIELD = "content";
+    private static final String WORD_SIMILARITY_FUNCTION = "word_similarity";
+    private static final char ESCAPE_CHARACTER = '\\';
+
+    /*
+     lower(column) LIKE '%value%' is served by the gin_trgm_ops indexes
+     from 02-add-notes-trigram-indexes.yml and 10-move-notes-content-to-note-bodies.yml,
+     so the semantics stay the same as with ExampleMatcher
+     when no sorting is requested, results are ranked by trigram word similarity
+     */
+    public Specification<Note> build(String title, String content) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            List<Expression<Double>> ranks = new ArrayList<>();
+            addCondition(root.get(TITLE_FIELD), criteriaBuilder, title, predicates, ranks);
+            if (content != null && !content.isEmpty()) {
+                Path<String> contentPath = getBody(root).get(CONTENT_FIELD);
+                addCondition(contentPath, criteriaBuilder, content, predicates, ranks);
+            }
+            if (!ranks.isEmpty() && !Long.class.equals(query.getResultType())) {
+                query.orderBy(criteriaBuilder.desc(ranks.stream()
+                        .reduce(criteriaBuilder::sum)
+                        .orElseThrow()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private void addCondition(
+            Path<String> path,
+            CriteriaBuilder criteriaBuilder,
+            String value,
+            List<Predicate> predicates,
+            List<Expression<Double>> ranks
+    ) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String lowerCaseValue = value.toLowerCase(Locale.ROOT);
+        Expression<String> column = criteriaBuilder.lower(path);
+        predicates.add(criteriaBuilder.like(
+                column,
+                "%" + escape(lowerCaseValue) + "%",
+                ESCAPE_CHARACTER
+        ));
+        ranks.add(criteriaBuilder.function(
+                WORD_SIMILARITY_FUNCTION,
+                Double.class,
+                criteriaBuilder.literal(lowerCaseValue),
+                column
+        ));
+    }
+
+    /*
+     content lives in note_bodies, which is joined only when content is searched by
+     the join fetched for the results is reused instead of joining the table twice
+     */
+    @SuppressWarnings("unchecked")
+    private From<Note, NoteBody> getBody(Root<Note> root) {
+        return root.getFetches()
+                .stream()
+                .filter(fetch -> Note.BODY_FIELD.equals(fetch.getAttribute().getName()))
+                .map(fetch -> (From<Note, NoteBody>) fetch)
+                .findFirst()
+                .orElseGet(() -> root.join(Note.BODY_FIELD));
+    }
+
+    private String escape(String value) {
+        return value
+                .replace(String.valueOf(ESCAPE_CHARACTER), "" + ESCAPE_CHARACTER + ESCAPE_CHARACTER)
+                .replace("%", ESCAPE_CHARACTER + "%")
+                .replace("_", ESCAPE_CHARACTER + "_");
+    }
+}
@@ -0,0 +1,100 @@
+package com.bond.search;
+
+import java.util.Arrays;
+
+// documents are mostly added in increasing order, so adding is usually an append
+final class IntPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MERGE_RATIO = 16;
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void add(int doc) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size++] = doc;
+            return;
+        }
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+            return;
+        }
+        int insertionPoint = -index - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertionPoint, docs, insertionPoint + 1, size - insertionPoint);
+        docs[insertionPoint] = doc;
+        size++;
+    }
+
+    void remove(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(docs, size);
+    }
+
+    /*
+     a few candidates are looked up with a binary search starting after the previous match,
+     so a rare trigram quickly narrows down a common one, lists of similar sizes are merged
+     */
+    int[] retainAll(int[] candidates) {
+        if ((long) candidates.length * MERGE_RATIO >= size) {
+            return merge(candidates);
+        }
+        int[] result = new int[candidates.length];
+        int count = 0;
+        int from = 0;
+        for (int candidate : candidates) {
+            int index = Arrays.binarySearch(docs, from, size, candidate);
+            if (index >= 0) {
+                result[count++] = candidate;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+            if (from == size) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] merge(int[] candidates) {
+        int[] result = new int[Math.min(candidates.length, size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            if (candidates[i] < docs[j]) {
+                i++;
+            } else if (candidates[i] > docs[j]) {
+                j++;
+            } else {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.bond.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.data.domain.Sort;
+
+/*
+ same semantics as the lower(column) LIKE search of the database
+ trigrams only narrow down the candidates, which are then checked with contains
+ */
+public class NoteTrigramIndex {
+    public static final int MIN_INDEXED_TERM_LENGTH = 3;
+    private static final String ID_PROPERTY = "id";
+    private static final String CREATED_AT_PROPERTY = "createdAt";
+    private static final String LAST_UPDATED_AT_PROPERTY = "lastUpdatedAt";
+    private static final int INITIAL_DOCS_CAPACITY = 1024;
+    private final Map<Long, IndexedNote> notesById = new HashMap<>();
+    private final Map<Long, IntPostingList> titlePostings = new HashMap<>();
+    private final Map<Long, IntPostingList> contentPostings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexedNote[] notesByDoc = new IndexedNote[INITIAL_DOCS_CAPACITY];
+    private int nextDoc;
+    // docs of removed notes are reused, so the docs stay as dense as the live notes
+    private int[] freeDocs = new int[INITIAL_DOCS_CAPACITY];
+    private int freeDocCount;
+
+    /*
+     a note with a lower version than the indexed one is ignored,
+     so a change applied out of order can't bring back an outdated note
+     */
+    public void put(
+            long id,
+            long version,
+            String title,
+            String content,
+            LocalDateTime createdAt,
+            LocalDateTime lastUpdatedAt
+    ) {
+        lock.writeLock().lock();
+        try {
+            IndexedNote existing = notesById.get(id);
+            if (existing != null && existing.version() > version) {
+                return;
+            }
+            int doc;
+            if (existing == null) {
+                doc = takeDoc();
+            } else {
+                doc = existing.doc();
+                removePostings(existing);
+            }
+            IndexedNote note = new IndexedNote(
+                    doc,
+                    id,
+                    version,
+                    normalize(title),
+                    normalize(content),
+                    toEpochMicros(createdAt),
+                    toEpochMicros(lastUpdatedAt)
+            );
+            notesById.put(id, note);
+            notesByDoc[doc] = note;
+            addPostings(note);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedNote note = notesById.remove(id);
+            if (note != null) {
+                removePostings(note);
+                notesByDoc[note.doc()] = null;
+                freeDoc(note.doc());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return notesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int getDocsCapacity() {
+        lock.readLock().lock();
+        try {
+            return notesByDoc.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // at least one term has to be long enough to be looked up
+    public static boolean supports(String title, String content, Sort sort) {
+        boolean indexedTerm = isIndexed(normalize(title)) || isIndexed(normalize(content));
+        return indexedTerm && sort.stream().allMatch(order -> switch (order.getProperty()) {
+            case ID_PROPERTY, CREATED_AT_PROPERTY, LAST_UPDATED_AT_PROPERTY -> true;
+            default -> false;
+        });
+    }
+
+    // unsorted results are ranked by the share of the matched fields taken by the terms
+    public List<Long> find(String title, String content, Sort sort, long offset, int limit) {
+        String titleTerm = normalize(title);
+        String contentTerm = normalize(content);
+        lock.readLock().lock();
+        try {
+            List<IndexedNote> matches = match(titleTerm, contentTerm);
+            Comparator<IndexedNote> comparator = getComparator(sort, titleTerm, contentTerm);
+            long wanted = offset + limit;
+            if (wanted < matches.size()) {
+                matches = getFirst(matches, comparator, (int) wanted);
+            }
+            matches.sort(comparator);
+            return matches.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(IndexedNote::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(String title, String content) {
+        String titleTerm = normalize(title);
+        String contentTerm = normalize(content);
+        lock.readLock().lock();
+        try {
+            return match(titleTerm, contentTerm).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<IndexedNote> match(String titleTerm, String contentTerm) {
+        int[] candidates = null;
+        if (isIndexed(titleTerm)) {
+            candidates = lookUp(candidates, titleTerm, titlePostings);
+        }
+        if (isIndexed(contentTerm)) {
+            candidates = lookUp(candidates, contentTerm, contentPostings);
+        }
+        if (candidates == null) {
+            throw new IllegalArgumentException("Search terms are too short for the index");
+        }
+        List<IndexedNote> matches = new ArrayList<>();
+        for (int doc : candidates) {
+            IndexedNote note = notesByDoc[doc];
+            if (note != null
+                    && (titleTerm == null || note.title().contains(titleTerm))
+                    && (contentTerm == null || note.content().contains(contentTerm))) {
+                matches.add(note);
+            }
+        }
+        return matches;
+    }
+
+    // posting lists are intersected from the shortest one, a missing trigram means no matches
+    private int[] lookUp(int[] candidates, String term, Map<Long, IntPostingList> postings) {
+        List<IntPostingList> lists = new ArrayList<>();
+        for (long trigram : getTrigrams(term)) {
+            IntPostingList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+        int[] result = candidates == null ? lists.get(0).toArray() : candidates;
+        for (IntPostingList list : lists) {
+            if (result.length == 0) {
+                break;
+            }
+            result = list.retainAll(result);
+        }
+        return result;
+    }
+
+    // a bounded heap keeps only the requested page and the ones before it, not all the matches
+    private List<IndexedNote> getFirst(
+            List<IndexedNote> matches,
+            Comparator<IndexedNote> comparator,
+            int count
+    ) {
+        PriorityQueue<IndexedNote> first = new PriorityQueue<>(count + 1, comparator.reversed());
+        for (IndexedNote note : matches) {
+            first.add(note);
+            if (first.size() > count) {
+                first.poll();
+            }
+        }
+        return new ArrayList<>(first);
+    }
+
+    private Comparator<IndexedNote> getComparator(
+            Sort sort,
+            String titleTerm,
+            String contentTerm
+    ) {
+        Comparator<IndexedNote> byIdDesc = Comparator.comparingLong(IndexedNote::id).reversed();
+        if (sort.isUnsorted()) {
+            return Comparator.<IndexedNote>comparingDouble(
+                    note -> getRank(note, titleTerm, contentTerm)
+            ).reversed().thenComparing(byIdDesc);
+        }
+        Comparator<IndexedNote> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<IndexedNote> next = switch (order.getProperty()) {
+                case CREATED_AT_PROPERTY -> Comparator.comparingLong(IndexedNote::createdAt);
+                case LAST_UPDATED_AT_PROPERTY ->
+                        Comparator.comparingLong(IndexedNote::lastUpdatedAt);
+                default -> Comparator.comparingLong(IndexedNote::id);
+            };
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator.thenComparing(byIdDesc);
+    }
+
+    private double getRank(IndexedNote note, String titleTerm, String contentTerm) {
+        double rank = 0;
+        if (titleTerm != null) {
+            rank += (double) titleTerm.length() / note.title().length();
+        }
+        if (contentTerm != null) {
+            rank += (double) contentTerm.length() / note.content().length();
+        }
+        return rank;
+    }
+
+    private void addPostings(IndexedNote note) {
+        for (long trigram : getTrigrams(note.title())) {
+            titlePostings.computeIfAbsent(trigram, key -> new IntPostingList()).add(note.doc());
+        }
+        for (long trigram : getTrigrams(note.content())) {
+            contentPostings.computeIfAbsent(trigram, key -> new IntPostingList()).add(note.doc());
+        }
+    }
+
+    private void removePostings(IndexedNote note) {
+        removePostings(note.doc(), note.title(), titlePostings);
+        removePostings(note.doc(), note.content(), contentPostings);
+    }
+
+    private void removePostings(int doc, String text, Map<Long, IntPostingList> postings) {
+        for (long trigram : getTrigrams(text)) {
+            IntPostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(doc);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private int takeDoc() {
+        if (freeDocCount > 0) {
+            return freeDocs[--freeDocCount];
+        }
+        if (nextDoc == notesByDoc.length) {
+            notesByDoc = Arrays.copyOf(notesByDoc, notesByDoc.length * 2);
+        }
+        return nextDoc++;
+    }
+
+    private void freeDoc(int doc) {
+        if (freeDocCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeDocs.length * 2);
+        }
+        freeDocs[freeDocCount++] = doc;
+    }
+
+    // three UTF-16 characters packed into one long, sorted and without duplicates
+    private static long[] getTrigrams(String text) {
+        if (text == null || text.length() < MIN_INDEXED_TERM_LENGTH) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - MIN_INDEXED_TERM_LENGTH + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (long) text.charAt(i) << 32
+                    | (long) text.charAt(i + 1) << 16
+                    | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int unique = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[unique++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, unique);
+    }
+
+    private static String normalize(String term) {
+        return term == null || term.isEmpty() ? null : term.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isIndexed(String term) {
+        return term != null && term.length() >= MIN_INDEXED_TERM_LENGTH;
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return Long.MIN_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private record IndexedNote(
+            int doc,
+            long id,
+            long version,
+            String title,
+            String content,
+            long createdAt,
+            long lastUpdatedAt
+    ) {
+    }
+}
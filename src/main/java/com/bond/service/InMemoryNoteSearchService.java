@@ -0,0 +1,14 @@
+package com.bond.service;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public interface InMemoryNoteSearchService {
+
+    boolean supports(String title, String content, Sort sort);
+
+    List<Long> findIds(String title, String content, Pageable pageable);
+
+    long count(String title, String content);
+}
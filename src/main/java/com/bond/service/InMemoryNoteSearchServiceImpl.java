@@ -0,0 +1,177 @@
+package com.bond.service;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.event.NoteChangeType;
+import com.bond.event.NoteChangedEvent;
+import com.bond.event.NotesImportedEvent;
+import com.bond.model.Note;
+import com.bond.repository.NoteRepository;
+import com.bond.search.NoteTrigramIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ the index is built in the background, until then every search goes to the database
+ changes made while it is being built are buffered and applied afterwards
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notes.search.in-memory.enabled", havingValue = "true")
+@Profile("!reactive")
+public class InMemoryNoteSearchServiceImpl implements InMemoryNoteSearchService {
+    public static final String INDEXED_NOTES_METRIC = "notes.search.in-memory.notes";
+    private final NoteTrigramIndex index = new NoteTrigramIndex();
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private final NoteRepository noteRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean ready;
+    private boolean building;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder(INDEXED_NOTES_METRIC, index, NoteTrigramIndex::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuilding() {
+        Thread.ofVirtual()
+                .name("notes-index-builder")
+                .start(this::build);
+    }
+
+    @Override
+    public boolean supports(String title, String content, Sort sort) {
+        return ready && NoteTrigramIndex.supports(title, content, sort);
+    }
+
+    @Override
+    public List<Long> findIds(String title, String content, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return index.find(title, content, pageable.getSort(), 0, Integer.MAX_VALUE);
+        }
+        return index.find(
+                title,
+                content,
+                pageable.getSort(),
+                pageable.getOffset(),
+                pageable.getPageSize()
+        );
+    }
+
+    @Override
+    public long count(String title, String content) {
+        return index.count(title, content);
+    }
+
+    // runs after the commit, so a rolled back change never gets to the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        if (event.type() == NoteChangeType.DELETED) {
+            apply(() -> index.remove(event.id()));
+        } else {
+            apply(() -> put(event.note()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotesImported(NotesImportedEvent event) {
+        apply(() -> event.notes().forEach(this::put));
+    }
+
+    /*
+     notes are read through a server-side cursor and detached right away,
+     so only the index itself stays in memory
+     */
+    void build() {
+        synchronized (pendingChanges) {
+            building = true;
+        }
+        long start = System.nanoTime();
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                status.setRollbackOnly();
+                try (Stream<Note> notes = noteRepository.streamAll()) {
+                    Iterator<Note> iterator = notes.iterator();
+                    while (iterator.hasNext()) {
+                        Note note = iterator.next();
+                        index.put(
+                                note.getId(),
+                                getVersion(note.getVersion()),
+                                note.getTitle(),
+                                note.getContent(),
+                                note.getCreatedAt(),
+                                note.getLastUpdatedAt()
+                        );
+                        entityManager.detach(note);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Can't build the in-memory search index, the database is searched", e);
+            synchronized (pendingChanges) {
+                building = false;
+                pendingChanges.clear();
+            }
+            return;
+        }
+        synchronized (pendingChanges) {
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges.clear();
+            building = false;
+            ready = true;
+        }
+        log.info("In-memory search index with {} notes was built in {} ms",
+                index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void apply(Runnable change) {
+        if (!ready) {
+            synchronized (pendingChanges) {
+                if (building) {
+                    pendingChanges.add(change);
+                    return;
+                }
+            }
+        }
+        change.run();
+    }
+
+    private void put(NoteResponseDto note) {
+        index.put(
+                note.id(),
+                getVersion(note.version()),
+                note.title(),
+                note.content(),
+                note.createdAt(),
+                note.lastUpdatedAt()
+        );
+    }
+
+    // notes copied in by the import have not been read back, they have the initial version
+    private long getVersion(Long version) {
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bond.service;
+
+import com.bond.dto.NoteChangesResponseDto;
+
+public interface NoteChangeService {
+
+    NoteChangesResponseDto getChanges(String since, int size);
+}
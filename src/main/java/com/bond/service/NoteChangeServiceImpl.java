@@ -0,0 +1,50 @@
+package com.bond.service;
+
+import com.bond.dto.NoteChangeDto;
+import com.bond.dto.NoteChangesResponseDto;
+import com.bond.repository.NoteChangePosition;
+import com.bond.repository.NoteChangeRepository;
+import com.bond.repository.NoteChangeRepository.NoteChange;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteChangeServiceImpl implements NoteChangeService {
+    private static final int MAX_CHANGES_SIZE = 1000;
+    private final NoteChangeRepository noteChangeRepository;
+    private final NoteChangeTokenCodec noteChangeTokenCodec;
+
+    /*
+     one extra change is fetched to find out whether there are more of them
+     without changes the same token is returned, so a client can always keep the last one
+     */
+    @Override
+    public NoteChangesResponseDto getChanges(String since, int size) {
+        if (size < 1 || size > MAX_CHANGES_SIZE) {
+            throw new IllegalArgumentException(
+                    "Size should be between 1 and " + MAX_CHANGES_SIZE
+            );
+        }
+        NoteChangePosition position = noteChangeTokenCodec.decode(since);
+        List<NoteChange> changes = noteChangeRepository.findChangesAfter(position, size + 1);
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+        NoteChangePosition nextPosition = changes.isEmpty()
+                ? position
+                : changes.get(changes.size() - 1).position();
+        List<NoteChangeDto> notes = changes.stream()
+                .map(NoteChange::note)
+                .toList();
+        return new NoteChangesResponseDto(
+                notes,
+                noteChangeTokenCodec.encode(nextPosition),
+                hasMore
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.bond.service;
+
+import com.bond.repository.NoteChangePosition;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NoteChangeTokenCodec {
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_TOKEN_MESSAGE = "Change token is not valid";
+
+    public String encode(NoteChangePosition position) {
+        String raw = position.changeXid() + SEPARATOR + position.id();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public NoteChangePosition decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return NoteChangePosition.INITIAL;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException(INVALID_TOKEN_MESSAGE);
+            }
+            return new NoteChangePosition(
+                    Long.parseLong(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_TOKEN_MESSAGE, e);
+        }
+    }
+}
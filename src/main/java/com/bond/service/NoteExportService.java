@@ -0,0 +1,9 @@
+package com.bond.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface NoteExportService {
+
+    void exportAll(OutputStream outputStream) throws IOException;
+}
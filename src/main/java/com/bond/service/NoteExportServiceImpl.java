@@ -0,0 +1,50 @@
+package com.bond.service;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.Note;
+import com.bond.repository.NoteRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteExportServiceImpl implements NoteExportService {
+    private static final int LINE_SEPARATOR = '\n';
+    private final NoteRepository noteRepository;
+    private final NoteMapper noteMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /*
+     notes are read through a server-side cursor and detached right after being written,
+     so memory usage does not depend on the number of notes
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(NoteResponseDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<Note> notes = noteRepository.streamAll()) {
+            Iterator<Note> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                Note note = iterator.next();
+                writer.writeValue(outputStream, noteMapper.toResponseDto(note));
+                outputStream.write(LINE_SEPARATOR);
+                entityManager.detach(note);
+            }
+        }
+        outputStream.flush();
+    }
+}
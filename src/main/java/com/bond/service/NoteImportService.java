@@ -0,0 +1,12 @@
+package com.bond.service;
+
+import com.bond.dto.NoteImportFormat;
+import com.bond.dto.NoteImportResultDto;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface NoteImportService {
+
+    NoteImportResultDto importNotes(InputStream inputStream, NoteImportFormat format)
+            throws IOException;
+}
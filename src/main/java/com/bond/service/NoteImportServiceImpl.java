@@ -0,0 +1,161 @@
+package com.bond.service;
+
+import static java.time.LocalDateTime.now;
+
+import com.bond.dto.NoteImportFormat;
+import com.bond.dto.NoteImportRejectionDto;
+import com.bond.dto.NoteImportResultDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.event.NotesImportedEvent;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.Note;
+import com.bond.repository.NoteCopyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteImportServiceImpl implements NoteImportService {
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+    private final NoteCopyRepository noteCopyRepository;
+    private final NoteMapper noteMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    @Value("${notes.import.chunk-size:5000}")
+    private int chunkSize;
+    @Value("${notes.import.max-reported-rejections:100}")
+    private int maxReportedRejections;
+
+    @Override
+    public NoteImportResultDto importNotes(InputStream inputStream, NoteImportFormat format)
+            throws IOException {
+        ImportProgress progress = new ImportProgress();
+        switch (format) {
+            case NDJSON -> importNdjson(inputStream, progress);
+            case CSV -> importCsv(inputStream, progress);
+            default -> throw new IllegalArgumentException("Unsupported format " + format);
+        }
+        flush(progress);
+        return new NoteImportResultDto(
+                progress.importedCount,
+                progress.rejectedCount,
+                progress.rejections
+        );
+    }
+
+    private void importNdjson(InputStream inputStream, ImportProgress progress)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8)
+        );
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(lineNumber, objectMapper.readValue(line, NoteRequestDto.class), progress);
+            } catch (JsonProcessingException e) {
+                reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage(), progress);
+            }
+        }
+    }
+
+    // for CSV the line is the number of a record (the header is line 1)
+    private void importCsv(InputStream inputStream, ImportProgress progress) throws IOException {
+        try (MappingIterator<NoteRequestDto> iterator = CSV_MAPPER
+                .readerFor(NoteRequestDto.class)
+                .with(CSV_SCHEMA)
+                .readValues(inputStream)) {
+            long lineNumber = 1;
+            while (true) {
+                lineNumber++;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        return;
+                    }
+                    accept(lineNumber, iterator.nextValue(), progress);
+                } catch (RuntimeJsonMappingException | JsonProcessingException e) {
+                    // the parser can't be trusted after a malformed record, so importing stops
+                    reject(lineNumber, "Malformed CSV: " + e.getMessage(), progress);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void accept(long lineNumber, NoteRequestDto requestDto, ImportProgress progress) {
+        if (requestDto == null) {
+            reject(lineNumber, "Note must not be null", progress);
+            return;
+        }
+        Set<ConstraintViolation<NoteRequestDto>> violations = validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            reject(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")), progress);
+            return;
+        }
+        progress.chunk.add(noteMapper.toModel(requestDto)
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now()));
+        if (progress.chunk.size() >= chunkSize) {
+            flush(progress);
+        }
+    }
+
+    private void reject(long lineNumber, String reason, ImportProgress progress) {
+        progress.rejectedCount++;
+        if (progress.rejections.size() < maxReportedRejections) {
+            progress.rejections.add(new NoteImportRejectionDto(lineNumber, reason));
+        }
+    }
+
+    private void flush(ImportProgress progress) {
+        if (progress.chunk.isEmpty()) {
+            return;
+        }
+        noteCopyRepository.copyIn(progress.chunk);
+        eventPublisher.publishEvent(new NotesImportedEvent(progress.chunk.stream()
+                .map(noteMapper::toResponseDto)
+                .toList()));
+        progress.importedCount += progress.chunk.size();
+        progress.chunk = new ArrayList<>();
+    }
+
+    private static class ImportProgress {
+        private List<Note> chunk = new ArrayList<>();
+        private final List<NoteImportRejectionDto> rejections = new ArrayList<>();
+        private long importedCount;
+        private long rejectedCount;
+    }
+}
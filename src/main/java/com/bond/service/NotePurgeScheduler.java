@@ -0,0 +1,20 @@
+package com.bond.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notes.purge.enabled", havingValue = "true", matchIfMissing = true)
+@Profile("!reactive")
+public class NotePurgeScheduler {
+    private final NotePurgeService notePurgeService;
+
+    @Scheduled(cron = "${notes.purge.cron:0 0 3 * * *}")
+    public void purge() {
+        notePurgeService.purge();
+    }
+}
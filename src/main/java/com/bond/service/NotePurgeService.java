@@ -0,0 +1,8 @@
+package com.bond.service;
+
+import com.bond.dto.NotePurgeResultDto;
+
+public interface NotePurgeService {
+
+    NotePurgeResultDto purge();
+}
@@ -0,0 +1,59 @@
+package com.bond.service;
+
+import com.bond.dto.NotePurgeResultDto;
+import com.bond.repository.NoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NotePurgeServiceImpl implements NotePurgeService {
+    public static final String PURGED_ROWS_METRIC = "notes.purge.rows";
+    public static final String PURGE_DURATION_METRIC = "notes.purge.duration";
+    private final NoteRepository noteRepository;
+    private final MeterRegistry meterRegistry;
+    @Value("${notes.purge.retention:30d}")
+    private Duration retention;
+    @Value("${notes.purge.batch-size:1000}")
+    private int batchSize;
+    @Value("${notes.purge.batch-pause:200ms}")
+    private Duration batchPause;
+
+    // every batch is its own short transaction with a pause after it, row locks stay short
+    @Override
+    public NotePurgeResultDto purge() {
+        long startedAt = System.nanoTime();
+        long purgedCount = 0;
+        int batchCount = 0;
+        int purged;
+        do {
+            purged = noteRepository.purgeDeleted(retention.toSeconds(), batchSize);
+            purgedCount += purged;
+            batchCount++;
+            meterRegistry.counter(PURGED_ROWS_METRIC).increment(purged);
+        } while (purged == batchSize && pause());
+        Duration duration = Duration.ofNanos(System.nanoTime() - startedAt);
+        meterRegistry.timer(PURGE_DURATION_METRIC).record(duration);
+        log.info("Purged {} soft deleted notes in {} batches, took {} ms",
+                purgedCount, batchCount, duration.toMillis());
+        return new NotePurgeResultDto(purgedCount, batchCount, duration.toMillis());
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Purge of soft deleted notes was interrupted");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.bond.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/*
+ Liquibase only switches the compression of the column, values written before keep theirs
+ until they are rewritten, which is done here in the background once the application is ready
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notes.recompress.enabled", havingValue = "true")
+@Profile("!reactive")
+public class NoteRecompressionRunner {
+    private final NoteStorageService noteStorageService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recompress() {
+        Thread.ofVirtual()
+                .name("notes-recompression")
+                .start(noteStorageService::recompress);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bond.service;
+
+import com.bond.dto.NoteRequestDto;
+import org.springframework.stereotype.Component;
+
+// checks shared by the servlet and the reactive note services
+@Component
+public class NoteRequestValidator {
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final String EMPTY_UPDATE_REQUEST_MESSAGE = """
+            Both title and content cannot be empty
+            Update at least one of them
+            """;
+
+    public void validateUpdateRequest(NoteRequestDto requestDto) {
+        String error = getUpdateRequestError(requestDto);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    public String getUpdateRequestError(NoteRequestDto requestDto) {
+        boolean isEmpty = (requestDto.title() == null || requestDto.title().isEmpty())
+                && (requestDto.content() == null || requestDto.content().isEmpty());
+        return isEmpty ? EMPTY_UPDATE_REQUEST_MESSAGE : null;
+    }
+
+    public void validateSearchParams(String title, String content) {
+        if ((title == null && content == null)
+                || (title != null && title.isEmpty()
+                && content != null && content.isEmpty())
+        ) {
+            throw new IllegalArgumentException("Searching should be done by at least 1 param");
+        }
+    }
+
+    public void validateScrollSize(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException(
+                    "Size should be between 1 and " + MAX_SCROLL_SIZE
+            );
+        }
+    }
+
+    public String getNotFoundMessage(Long id) {
+        return "Can't find a note with id " + id;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bond.service;
+
+import com.bond.repository.NoteIndexRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteSearchIndexChecker {
+    private static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_notes_title_trgm",
+            "idx_note_bodies_content_trgm"
+    );
+    private final NoteIndexRepository noteIndexRepository;
+    @Value("${notes.search.full-text.enabled:true}")
+    private boolean fullTextSearchEnabled;
+    private volatile boolean fullTextSearchAvailable;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        if (!fullTextSearchEnabled) {
+            log.info("Full-text search is disabled, using ExampleMatcher for searching");
+            return;
+        }
+        try {
+            fullTextSearchAvailable = noteIndexRepository.findIndexNames()
+                    .containsAll(REQUIRED_INDEXES);
+        } catch (DataAccessException e) {
+            fullTextSearchAvailable = false;
+        }
+        if (!fullTextSearchAvailable) {
+            log.warn("Indexes {} are absent, falling back to ExampleMatcher for searching",
+                    REQUIRED_INDEXES);
+        }
+    }
+
+    public boolean isFullTextSearchAvailable() {
+        return fullTextSearchAvailable;
+    }
+}
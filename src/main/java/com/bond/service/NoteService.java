@@ -1,7 +1,11 @@
 package com.bond.service;
 
+import com.bond.dto.NoteBatchResultDto;
+import com.bond.dto.NoteBatchUpdateRequestDto;
+import com.bond.dto.NoteCursorPageResponseDto;
 import com.bond.dto.NoteRequestDto;
 import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -11,11 +15,29 @@ public interface NoteService {
 
     NoteResponseDto create(NoteRequestDto requestDto);
 
-    NoteResponseDto update(Long id, NoteRequestDto requestDto);
+    NoteResponseDto update(Long id, NoteRequestDto requestDto, Long expectedVersion);
+
+    List<NoteBatchResultDto> createAll(List<NoteRequestDto> requestDtos);
+
+    List<NoteBatchResultDto> updateAll(List<NoteBatchUpdateRequestDto> requestDtos);
+
+    List<NoteBatchResultDto> deleteAll(List<Long> ids);
 
     NoteResponseDto getById(Long id);
 
-    void delete(Long id);
+    void delete(Long id, Long expectedVersion);
 
     List<NoteResponseDto> search(String title, String content, Pageable pageable);
+
+    List<NoteSummaryDto> getAllSummaries(Pageable pageable);
+
+    List<NoteSummaryDto> searchSummaries(String title, String content, Pageable pageable);
+
+    long countAll();
+
+    long countSearchResults(String title, String content);
+
+    NoteCursorPageResponseDto scroll(String after, int size);
+
+    NoteCursorPageResponseDto scrollSearch(String title, String content, String after, int size);
 }
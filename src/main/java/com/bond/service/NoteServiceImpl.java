@@ -2,115 +2,487 @@ package com.bond.service;
 
 import static java.time.LocalDateTime.now;
 
+import com.bond.config.CacheConfig;
+import com.bond.dto.NoteBatchResultDto;
+import com.bond.dto.NoteBatchUpdateRequestDto;
+import com.bond.dto.NoteCursorPageResponseDto;
 import com.bond.dto.NoteRequestDto;
 import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
+import com.bond.event.NoteChangedEvent;
 import com.bond.mapper.NoteMapper;
 import com.bond.model.Note;
 import com.bond.repository.NoteRepository;
+import com.bond.repository.specification.NoteSpecificationBuilder;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Profile("!reactive")
+@Timed(value = "notes.service", description = "Time spent in NoteService methods")
 public class NoteServiceImpl implements NoteService {
     private static final String ID_FIELD = "id";
     private static final String CREATED_AT_FIELD = "createdAt";
     private static final String LAST_UPDATED_AT_FIELD = "lastUpdatedAt";
     private static final String TITLE_FIELD = "title";
     private static final String CONTENT_FIELD = "content";
+    private static final String BODY_CONTENT_PATH = Note.BODY_FIELD + "." + CONTENT_FIELD;
+    private static final String BODY_NOTE_PATH = Note.BODY_FIELD + ".note";
+    private static final String STALE_VERSION_MESSAGE =
+            "Note with id %d was modified, its version is not %d anymore";
+    private static final String NULL_BATCH_ITEM_MESSAGE = "Batch item must not be null";
+    private static final Sort SCROLL_SORT = Sort.by(
+            Sort.Direction.DESC, NoteCursorCodec.CREATED_AT_KEY, NoteCursorCodec.ID_KEY
+    );
     private final NoteRepository noteRepository;
     private final NoteMapper noteMapper;
+    private final NoteSpecificationBuilder noteSpecificationBuilder;
+    private final NoteSearchIndexChecker noteSearchIndexChecker;
+    private final NoteCursorCodec noteCursorCodec;
+    private final NoteRequestValidator noteRequestValidator;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<InMemoryNoteSearchService> inMemorySearchService;
+    private final CacheManager cacheManager;
+    @Value("${notes.summary.snippet-length:200}")
+    private int snippetLength;
+    @Value("${notes.batch.max-size:1000}")
+    private int maxBatchSize;
 
     @Override
     public List<NoteResponseDto> getAll(Pageable pageable) {
-        return noteRepository.findAll(pageable)
+        return noteRepository.findSlice(Specification.where(null), pageable)
                 .stream()
                 .map(noteMapper::toResponseDto)
                 .toList();
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.NOTES_CACHE, key = "#result.id")
     public NoteResponseDto create(NoteRequestDto requestDto) {
         Note note = noteMapper.toModel(requestDto)
                 .setCreatedAt(now())
                 .setLastUpdatedAt(now());
         noteRepository.save(note);
-        return noteMapper.toResponseDto(note);
+        NoteResponseDto responseDto = noteMapper.toResponseDto(note);
+        eventPublisher.publishEvent(NoteChangedEvent.created(responseDto));
+        return responseDto;
     }
 
     @Override
-    public NoteResponseDto update(Long id, NoteRequestDto requestDto) {
-        if ((requestDto.title() == null || requestDto.title().isEmpty())
-                && (requestDto.content() == null || requestDto.content().isEmpty())) {
-            throw new IllegalArgumentException("""
-                    Both title and content cannot be empty
-                    Update at least one of them
-                    """);
-        }
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Can't find a note with id " + id
-                ));
-        note = noteMapper.toUpdatedModel(note, requestDto)
-                .setLastUpdatedAt(now());
-        noteRepository.save(note);
-        return noteMapper.toResponseDto(note);
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.NOTES_CACHE, key = "#id")
+    public NoteResponseDto update(Long id, NoteRequestDto requestDto, Long expectedVersion) {
+        noteRequestValidator.validateUpdateRequest(requestDto);
+        NoteResponseDto responseDto = noteRepository.updatePartially(
+                id, requestDto.title(), requestDto.content(), expectedVersion, now()
+        ).orElseThrow(() -> getUpdateFailure(id, expectedVersion));
+        eventPublisher.publishEvent(NoteChangedEvent.updated(responseDto));
+        return responseDto;
+    }
+
+    @Override
+    @Transactional
+    public List<NoteBatchResultDto> createAll(List<NoteRequestDto> requestDtos) {
+        validateBatchSize(requestDtos);
+        NoteBatchResultDto[] results = new NoteBatchResultDto[requestDtos.size()];
+        Map<Integer, Note> notesToSave = new LinkedHashMap<>();
+        for (int i = 0; i < requestDtos.size(); i++) {
+            NoteRequestDto requestDto = requestDtos.get(i);
+            String error = requestDto == null
+                    ? NULL_BATCH_ITEM_MESSAGE
+                    : getErrorMessage(validator.validate(requestDto));
+            if (error != null) {
+                results[i] = failure(i, null, error);
+                continue;
+            }
+            notesToSave.put(i, noteMapper.toModel(requestDto)
+                    .setCreatedAt(now())
+                    .setLastUpdatedAt(now()));
+        }
+        noteRepository.saveAll(notesToSave.values());
+        notesToSave.forEach((index, note) -> results[index] = success(index, note));
+        publishEvents(results, NoteChangedEvent::created);
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<NoteBatchResultDto> updateAll(List<NoteBatchUpdateRequestDto> requestDtos) {
+        validateBatchSize(requestDtos);
+        NoteBatchResultDto[] results = new NoteBatchResultDto[requestDtos.size()];
+        Map<Integer, NoteBatchUpdateRequestDto> validRequests = new LinkedHashMap<>();
+        for (int i = 0; i < requestDtos.size(); i++) {
+            NoteBatchUpdateRequestDto requestDto = requestDtos.get(i);
+            String error = getUpdateErrorMessage(requestDto);
+            if (error != null) {
+                results[i] = failure(i, requestDto == null ? null : requestDto.id(), error);
+                continue;
+            }
+            validRequests.put(i, requestDto);
+        }
+        // all the notes are loaded with a single query instead of one findById per item
+        Map<Long, Note> notes = noteRepository.findAllById(validRequests.values()
+                        .stream()
+                        .map(NoteBatchUpdateRequestDto::id)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Note::getId, Function.identity()));
+        Map<Integer, Note> updatedNotes = new LinkedHashMap<>();
+        validRequests.forEach((index, requestDto) -> {
+            Long id = requestDto.id();
+            Note note = notes.get(id);
+            if (note == null) {
+                results[index] =
+                        failure(index, id, noteRequestValidator.getNotFoundMessage(id));
+                return;
+            }
+            noteMapper.toUpdatedModel(
+                    note,
+                    new NoteRequestDto(requestDto.title(), requestDto.content())
+            ).setLastUpdatedAt(now());
+            updatedNotes.put(index, note);
+        });
+        // flushed before mapping, so the results carry the incremented versions
+        noteRepository.saveAllAndFlush(notes.values());
+        updatedNotes.forEach((index, note) -> results[index] = success(index, note));
+        evictFromCache(updatedNotes.values().stream().map(Note::getId).toList());
+        publishEvents(results, NoteChangedEvent::updated);
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<NoteBatchResultDto> deleteAll(List<Long> ids) {
+        validateBatchSize(ids);
+        Set<Long> deletedIds = Set.copyOf(noteRepository.softDeleteAllByIdIn(Set.copyOf(ids)));
+        NoteBatchResultDto[] results = new NoteBatchResultDto[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results[i] = deletedIds.contains(id)
+                    ? new NoteBatchResultDto(i, id, true, null, null)
+                    : failure(i, id, noteRequestValidator.getNotFoundMessage(id));
+        }
+        evictFromCache(deletedIds);
+        deletedIds.forEach(id -> eventPublisher.publishEvent(NoteChangedEvent.deleted(id)));
+        return Arrays.asList(results);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.NOTES_CACHE, key = "#id")
     public NoteResponseDto getById(Long id) {
         return noteRepository.findById(id)
                 .map(noteMapper::toResponseDto)
                 .orElseThrow(() -> new EntityNotFoundException(
-                        "Can't find a note with id " + id
+                        noteRequestValidator.getNotFoundMessage(id)
                 ));
     }
 
     @Override
-    public void delete(Long id) {
-        noteRepository.deleteById(id);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.NOTES_CACHE, key = "#id")
+    public void delete(Long id, Long expectedVersion) {
+        int deletedCount = expectedVersion == null
+                ? noteRepository.softDeleteById(id)
+                : noteRepository.softDeleteByIdAndVersion(id, expectedVersion);
+        if (deletedCount == 0) {
+            throw getUpdateFailure(id, expectedVersion);
+        }
+        eventPublisher.publishEvent(NoteChangedEvent.deleted(id));
     }
 
     @Override
     public List<NoteResponseDto> search(String title, String content, Pageable pageable) {
-        if ((title == null && content == null)
-                || (title != null && title.isEmpty()
-                && content != null && content.isEmpty())
-        ) {
-            throw new IllegalArgumentException("Searching should be done by at least 1 param");
+        noteRequestValidator.validateSearchParams(title, content);
+        InMemoryNoteSearchService searchService = getInMemorySearchService(
+                title, content, pageable.getSort()
+        );
+        if (searchService != null) {
+            List<Long> ids = searchService.findIds(title, content, pageable);
+            return inOrderOf(ids, noteRepository.findAllById(ids), Note::getId)
+                    .stream()
+                    .map(noteMapper::toResponseDto)
+                    .toList();
+        }
+        return noteRepository.findSlice(getSearchSpecification(title, content), pageable)
+                .stream()
+                .map(noteMapper::toResponseDto)
+                .toList();
+    }
+
+    /*
+     bodies are loaded lazily after the window is read, a batch at a time
+     thanks to hibernate.default_batch_fetch_size, so the transaction has to stay open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public NoteCursorPageResponseDto scroll(String after, int size) {
+        noteRequestValidator.validateScrollSize(size);
+        KeysetScrollPosition position = noteCursorCodec.decode(after);
+        Window<Note> window = noteRepository.findBy(
+                Specification.where(null),
+                query -> query.sortBy(SCROLL_SORT).limit(size).scroll(position)
+        );
+        return toCursorPage(window);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NoteCursorPageResponseDto scrollSearch(
+            String title,
+            String content,
+            String after,
+            int size
+    ) {
+        noteRequestValidator.validateSearchParams(title, content);
+        noteRequestValidator.validateScrollSize(size);
+        KeysetScrollPosition position = noteCursorCodec.decode(after);
+        Window<Note> window = noteRepository.findBy(
+                getSearchSpecification(title, content),
+                query -> query.sortBy(SCROLL_SORT).limit(size).scroll(position)
+        );
+        return toCursorPage(window);
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch should contain from 1 to " + maxBatchSize + " items"
+            );
+        }
+    }
+
+    private String getUpdateErrorMessage(NoteBatchUpdateRequestDto requestDto) {
+        if (requestDto == null) {
+            return NULL_BATCH_ITEM_MESSAGE;
+        }
+        if (requestDto.id() == null) {
+            return "id must not be null";
+        }
+        NoteRequestDto noteRequestDto = new NoteRequestDto(
+                requestDto.title(),
+                requestDto.content()
+        );
+        String emptyRequestError = noteRequestValidator.getUpdateRequestError(noteRequestDto);
+        if (emptyRequestError != null) {
+            return emptyRequestError;
+        }
+        // only passed fields are validated, the others are left as they are
+        Set<ConstraintViolation<NoteRequestDto>> violations = new HashSet<>();
+        if (requestDto.title() != null) {
+            violations.addAll(validator.validateProperty(noteRequestDto, TITLE_FIELD));
+        }
+        if (requestDto.content() != null) {
+            violations.addAll(validator.validateProperty(noteRequestDto, CONTENT_FIELD));
+        }
+        return getErrorMessage(violations);
+    }
+
+    private String getErrorMessage(Set<ConstraintViolation<NoteRequestDto>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // nothing was changed either because there is no such note or because its version differs
+    private RuntimeException getUpdateFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && noteRepository.existsById(id)) {
+            return new OptimisticLockingFailureException(
+                    STALE_VERSION_MESSAGE.formatted(id, expectedVersion)
+            );
+        }
+        return new EntityNotFoundException(noteRequestValidator.getNotFoundMessage(id));
+    }
+
+    private void publishEvents(
+            NoteBatchResultDto[] results,
+            Function<NoteResponseDto, NoteChangedEvent> toEvent
+    ) {
+        for (NoteBatchResultDto result : results) {
+            if (result.success()) {
+                eventPublisher.publishEvent(toEvent.apply(result.note()));
+            }
+        }
+    }
+
+    // @CacheEvict can evict either one key or the whole cache, batches evict only their notes
+    private void evictFromCache(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.NOTES_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private NoteBatchResultDto success(int index, Note note) {
+        return new NoteBatchResultDto(
+                index, note.getId(), true, noteMapper.toResponseDto(note), null
+        );
+    }
+
+    private NoteBatchResultDto failure(int index, Long id, String error) {
+        return new NoteBatchResultDto(index, id, false, null, error);
+    }
+
+    private NoteCursorPageResponseDto toCursorPage(Window<Note> window) {
+        List<NoteResponseDto> content = window.stream()
+                .map(noteMapper::toResponseDto)
+                .toList();
+        if (!window.hasNext() || window.isEmpty()) {
+            return new NoteCursorPageResponseDto(content, null, false);
+        }
+        KeysetScrollPosition lastPosition =
+                (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        return new NoteCursorPageResponseDto(
+                content,
+                noteCursorCodec.encode(lastPosition),
+                true
+        );
+    }
+
+    @Override
+    public List<NoteSummaryDto> getAllSummaries(Pageable pageable) {
+        return noteRepository.findSummarySlice(Specification.where(null), pageable, snippetLength)
+                .getContent();
+    }
+
+    @Override
+    public List<NoteSummaryDto> searchSummaries(String title, String content, Pageable pageable) {
+        noteRequestValidator.validateSearchParams(title, content);
+        InMemoryNoteSearchService searchService = getInMemorySearchService(
+                title, content, pageable.getSort()
+        );
+        if (searchService != null) {
+            List<Long> ids = searchService.findIds(title, content, pageable);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Specification<Note> byIds = (root, query, criteriaBuilder) ->
+                    root.get(ID_FIELD).in(ids);
+            return inOrderOf(
+                    ids,
+                    noteRepository.findSummarySlice(byIds, Pageable.unpaged(), snippetLength)
+                            .getContent(),
+                    NoteSummaryDto::id
+            );
+        }
+        return noteRepository.findSummarySlice(
+                        getSearchSpecification(title, content),
+                        pageable,
+                        snippetLength
+                )
+                .getContent();
+    }
+
+    @Override
+    public long countAll() {
+        return noteRepository.count();
+    }
+
+    @Override
+    public long countSearchResults(String title, String content) {
+        noteRequestValidator.validateSearchParams(title, content);
+        InMemoryNoteSearchService searchService = getInMemorySearchService(
+                title, content, Sort.unsorted()
+        );
+        if (searchService != null) {
+            return searchService.count(title, content);
+        }
+        return noteRepository.count(getSearchSpecification(title, content));
+    }
+
+    // the in-memory index is used only when it is enabled, built and able to answer the query
+    private InMemoryNoteSearchService getInMemorySearchService(
+            String title,
+            String content,
+            Sort sort
+    ) {
+        InMemoryNoteSearchService searchService = inMemorySearchService.getIfAvailable();
+        return searchService != null && searchService.supports(title, content, sort)
+                ? searchService
+                : null;
+    }
+
+    // the database returns hydrated notes in any order, the index order is restored
+    private <T> List<T> inOrderOf(List<Long> ids, List<T> items, Function<T, Long> idExtractor) {
+        Map<Long, T> itemsById = items.stream()
+                .collect(Collectors.toMap(idExtractor, Function.identity()));
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Specification<Note> getSearchSpecification(String title, String content) {
+        if (noteSearchIndexChecker.isFullTextSearchAvailable()) {
+            return noteSpecificationBuilder.build(title, content);
         }
         ExampleMatcher exampleMatcher = createExampleMatcher();
         Example<Note> example = Example.of(
                 getNoteFromSearchParams(title, content),
                 exampleMatcher
         );
-        return noteRepository.findAll(example, pageable)
-                .stream()
-                .map(noteMapper::toResponseDto)
-                .toList();
+        return (root, query, criteriaBuilder) -> QueryByExamplePredicateBuilder.getPredicate(
+                root, criteriaBuilder, example, EscapeCharacter.DEFAULT
+        );
     }
 
+    // the body is joined only when content is searched by
     private Note getNoteFromSearchParams(String title, String content) {
-        return new Note()
-                .setTitle(title)
-                .setContent(content);
+        Note note = new Note().setTitle(title);
+        return content == null ? note : note.setContent(content);
     }
 
     private ExampleMatcher createExampleMatcher() {
         return ExampleMatcher.matching()
                 .withIgnoreNullValues()
-                .withIgnorePaths(ID_FIELD, CREATED_AT_FIELD, LAST_UPDATED_AT_FIELD)
+                .withIgnorePaths(
+                        ID_FIELD, CREATED_AT_FIELD, LAST_UPDATED_AT_FIELD, BODY_NOTE_PATH
+                )
                 .withMatcher(
                         TITLE_FIELD,
                         ExampleMatcher.GenericPropertyMatchers.contains().ignoreCase()
                 )
                 .withMatcher(
-                        CONTENT_FIELD,
+                        BODY_CONTENT_PATH,
                         ExampleMatcher.GenericPropertyMatchers.contains().ignoreCase()
                 );
     }
@@ -0,0 +1,48 @@
+package com.bond.service;
+
+import com.bond.repository.NoteIndexRepository;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteSortIndexChecker {
+    // note properties that can be passed as a Pageable sort, mapped to their columns
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "content", "content",
+            "createdAt", "created_at",
+            "lastUpdatedAt", "last_updated_at"
+    );
+    private final NoteIndexRepository noteIndexRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        List<String> indexedColumns;
+        try {
+            indexedColumns = noteIndexRepository.findSortableColumns();
+        } catch (DataAccessException e) {
+            log.warn("Can't read indexes of notes table, sort indexes are not checked");
+            return;
+        }
+        SORTABLE_COLUMNS.entrySet()
+                .stream()
+                .filter(entry -> !indexedColumns.contains(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .forEach(property -> log.warn(
+                        "Sorting notes by '{}' has no supporting index, "
+                                + "such requests will scan and sort the whole table",
+                        property));
+    }
+}
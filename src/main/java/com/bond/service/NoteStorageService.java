@@ -0,0 +1,11 @@
+package com.bond.service;
+
+import com.bond.dto.NoteRecompressionResultDto;
+import com.bond.dto.NoteStorageStatsDto;
+
+public interface NoteStorageService {
+
+    NoteRecompressionResultDto recompress();
+
+    NoteStorageStatsDto getStats();
+}
@@ -0,0 +1,81 @@
+package com.bond.service;
+
+import com.bond.dto.NoteRecompressionResultDto;
+import com.bond.dto.NoteStorageStatsDto;
+import com.bond.repository.NoteStorageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteStorageServiceImpl implements NoteStorageService {
+    public static final String REWRITTEN_ROWS_METRIC = "notes.recompress.rows";
+    public static final String RECOMPRESS_DURATION_METRIC = "notes.recompress.duration";
+    private final NoteStorageRepository noteStorageRepository;
+    private final MeterRegistry meterRegistry;
+    @Value("${notes.recompress.min-bytes:1024}")
+    private int minBytes;
+    @Value("${notes.recompress.batch-size:1000}")
+    private int batchSize;
+    @Value("${notes.recompress.batch-pause:200ms}")
+    private Duration batchPause;
+
+    /*
+     content stored before the column was switched to lz4 is rewritten, so it gets compressed
+     batches are short transactions with a pause after each, the same way the purge runs
+     */
+    @Override
+    public NoteRecompressionResultDto recompress() {
+        if (!noteStorageRepository.isContentCompressedWithLz4()) {
+            log.warn("Content of notes is not compressed with lz4 on this server, "
+                    + "recompression is skipped");
+            return new NoteRecompressionResultDto(0, 0, 0, true);
+        }
+        long startedAt = System.nanoTime();
+        long rewrittenCount = 0;
+        int batchCount = 0;
+        long afterId = 0;
+        List<Long> rewritten;
+        do {
+            rewritten = noteStorageRepository.rewriteContent(afterId, minBytes, batchSize);
+            rewrittenCount += rewritten.size();
+            batchCount++;
+            meterRegistry.counter(REWRITTEN_ROWS_METRIC).increment(rewritten.size());
+            if (!rewritten.isEmpty()) {
+                afterId = Collections.max(rewritten);
+            }
+        } while (rewritten.size() == batchSize && pause());
+        Duration duration = Duration.ofNanos(System.nanoTime() - startedAt);
+        meterRegistry.timer(RECOMPRESS_DURATION_METRIC).record(duration);
+        log.info("Rewrote content of {} notes in {} batches, took {} ms",
+                rewrittenCount, batchCount, duration.toMillis());
+        return new NoteRecompressionResultDto(
+                rewrittenCount, batchCount, duration.toMillis(), false
+        );
+    }
+
+    @Override
+    public NoteStorageStatsDto getStats() {
+        return noteStorageRepository.getStats();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Recompression of notes content was interrupted");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.bond.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface NoteStreamService {
+
+    SseEmitter subscribe();
+}
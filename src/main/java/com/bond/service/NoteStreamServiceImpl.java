@@ -0,0 +1,139 @@
+package com.bond.service;
+
+import com.bond.event.NoteChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/*
+ every subscriber has a bounded buffer drained by a virtual thread
+ a subscriber whose buffer overflows is disconnected, so it never slows down the others
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class NoteStreamServiceImpl implements NoteStreamService {
+    public static final String SUBSCRIBERS_METRIC = "notes.stream.subscribers";
+    public static final String EVICTIONS_METRIC = "notes.stream.evictions";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+    @Value("${notes.stream.timeout:30m}")
+    private Duration timeout;
+    @Value("${notes.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // runs after the commit, so subscribers never hear of a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        String name = event.type().name().toLowerCase(Locale.ROOT);
+        subscribers.forEach(subscriber -> enqueue(
+                subscriber, () -> SseEmitter.event().name(name).data(event)
+        ));
+    }
+
+    // detects dropped connections and keeps proxies from closing idle ones
+    @Scheduled(fixedDelayString = "${notes.stream.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> enqueue(
+                subscriber, () -> SseEmitter.event().comment(HEARTBEAT_COMMENT)
+        ));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        if (senders instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Supplier<SseEventBuilder> event) {
+        if (!subscriber.queue().offer(event)) {
+            evict(subscriber);
+            return;
+        }
+        if (subscriber.sending().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Supplier<SseEventBuilder> event;
+            while ((event = subscriber.queue().poll()) != null) {
+                subscriber.emitter().send(event.get());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client has gone away, the emitter callbacks are not called for it
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.sending().set(false);
+        }
+        // an event could be queued after the last poll, but before the flag was reset
+        if (!subscriber.queue().isEmpty() && subscriber.sending().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            meterRegistry.counter(EVICTIONS_METRIC).increment();
+            log.warn("Disconnected a notes stream subscriber that fell {} events behind",
+                    bufferSize);
+            subscriber.emitter().complete();
+        }
+    }
+
+    private record Subscriber(
+            SseEmitter emitter,
+            BlockingQueue<Supplier<SseEventBuilder>> queue,
+            AtomicBoolean sending
+    ) {
+        private Subscriber(SseEmitter emitter, BlockingQueue<Supplier<SseEventBuilder>> queue) {
+            this(emitter, queue, new AtomicBoolean());
+        }
+    }
+}
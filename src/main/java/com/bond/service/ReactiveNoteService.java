@@ -0,0 +1,32 @@
+package com.bond.service;
+
+import com.bond.dto.NoteCursorPageResponseDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveNoteService {
+
+    Flux<NoteResponseDto> getAll(Pageable pageable);
+
+    Mono<NoteResponseDto> create(NoteRequestDto requestDto);
+
+    Mono<NoteResponseDto> update(Long id, NoteRequestDto requestDto);
+
+    Mono<NoteResponseDto> getById(Long id);
+
+    Mono<Void> delete(Long id);
+
+    Flux<NoteResponseDto> search(String title, String content, Pageable pageable);
+
+    Mono<NoteCursorPageResponseDto> scroll(String after, int size);
+
+    Mono<NoteCursorPageResponseDto> scrollSearch(
+            String title,
+            String content,
+            String after,
+            int size
+    );
+}
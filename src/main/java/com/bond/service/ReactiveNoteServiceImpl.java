@@ -0,0 +1,171 @@
+package com.bond.service;
+
+import static java.time.LocalDateTime.now;
+
+import com.bond.dto.NoteCursorPageResponseDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.NoteRow;
+import com.bond.repository.reactive.ReactiveNoteRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveNoteServiceImpl implements ReactiveNoteService {
+    private final ReactiveNoteRepository reactiveNoteRepository;
+    private final NoteMapper noteMapper;
+    private final NoteCursorCodec noteCursorCodec;
+    private final NoteRequestValidator noteRequestValidator;
+
+    @Override
+    public Flux<NoteResponseDto> getAll(Pageable pageable) {
+        return reactiveNoteRepository.findPage(null, null, pageable)
+                .map(noteMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional
+    public Mono<NoteResponseDto> create(NoteRequestDto requestDto) {
+        NoteRow noteRow = new NoteRow()
+                .setTitle(requestDto.title())
+                .setContent(requestDto.content())
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+        return reactiveNoteRepository.save(noteRow)
+                .flatMap(this::saveBody)
+                .map(noteMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional
+    public Mono<NoteResponseDto> update(Long id, NoteRequestDto requestDto) {
+        String error = noteRequestValidator.getUpdateRequestError(requestDto);
+        if (error != null) {
+            return Mono.error(new IllegalArgumentException(error));
+        }
+        return findById(id)
+                .map(noteRow -> {
+                    if (requestDto.title() != null) {
+                        noteRow.setTitle(requestDto.title());
+                    }
+                    if (requestDto.content() != null) {
+                        noteRow.setContent(requestDto.content());
+                    }
+                    return noteRow.setLastUpdatedAt(now());
+                })
+                .flatMap(reactiveNoteRepository::save)
+                .flatMap(this::saveBody)
+                .map(noteMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<NoteResponseDto> getById(Long id) {
+        return findById(id)
+                .map(noteMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        return reactiveNoteRepository.softDeleteById(id)
+                .filter(deleted -> deleted > 0)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(
+                        noteRequestValidator.getNotFoundMessage(id))))
+                .then();
+    }
+
+    @Override
+    public Flux<NoteResponseDto> search(String title, String content, Pageable pageable) {
+        return Mono.fromRunnable(() ->
+                        noteRequestValidator.validateSearchParams(title, content))
+                .thenMany(Flux.defer(() ->
+                        reactiveNoteRepository.findPage(title, content, pageable)))
+                .map(noteMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<NoteCursorPageResponseDto> scroll(String after, int size) {
+        return scrollPage(null, null, after, size, false);
+    }
+
+    @Override
+    public Mono<NoteCursorPageResponseDto> scrollSearch(
+            String title,
+            String content,
+            String after,
+            int size
+    ) {
+        return scrollPage(title, content, after, size, true);
+    }
+
+    private Mono<NoteCursorPageResponseDto> scrollPage(
+            String title,
+            String content,
+            String after,
+            int size,
+            boolean isSearch
+    ) {
+        return Mono.fromCallable(() -> {
+            if (isSearch) {
+                noteRequestValidator.validateSearchParams(title, content);
+            }
+            noteRequestValidator.validateScrollSize(size);
+            return noteCursorCodec.decode(after).getKeys();
+        }).flatMap(keys -> reactiveNoteRepository.findAfter(
+                        title,
+                        content,
+                        (LocalDateTime) keys.get(NoteCursorCodec.CREATED_AT_KEY),
+                        (Long) keys.get(NoteCursorCodec.ID_KEY),
+                        // one more row tells whether there is a next page
+                        size + 1
+                )
+                .collectList()
+                .map(noteRows -> toCursorPage(noteRows, size)));
+    }
+
+    private Mono<NoteRow> findById(Long id) {
+        return reactiveNoteRepository.findByIdAndDeletedFalse(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(
+                        noteRequestValidator.getNotFoundMessage(id))));
+    }
+
+    // content is not a column of notes, so the body is written after the note row
+    private Mono<NoteRow> saveBody(NoteRow noteRow) {
+        return reactiveNoteRepository.saveBody(noteRow.getId(), noteRow.getContent())
+                .thenReturn(noteRow);
+    }
+
+    private NoteCursorPageResponseDto toCursorPage(List<NoteRow> noteRows, int size) {
+        boolean hasNext = noteRows.size() > size;
+        List<NoteRow> page = hasNext ? noteRows.subList(0, size) : noteRows;
+        List<NoteResponseDto> content = page.stream()
+                .map(noteMapper::toResponseDto)
+                .toList();
+        if (!hasNext) {
+            return new NoteCursorPageResponseDto(content, null, false);
+        }
+        NoteRow last = page.get(page.size() - 1);
+        KeysetScrollPosition lastPosition = ScrollPosition.forward(Map.of(
+                NoteCursorCodec.CREATED_AT_KEY, last.getCreatedAt(),
+                NoteCursorCodec.ID_KEY, last.getId()
+        ));
+        return new NoteCursorPageResponseDto(
+                content,
+                noteCursorCodec.encode(lastPosition),
+                true
+        );
+    }
+}
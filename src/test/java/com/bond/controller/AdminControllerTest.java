@@ -0,0 +1,132 @@
+package com.bond.controller;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.bond.dto.NotePurgeResultDto;
+import com.bond.dto.NoteRecompressionResultDto;
+import com.bond.dto.NoteStorageStatsDto;
+import com.bond.holder.LinksHolder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AdminControllerTest extends LinksHolder {
+    protected static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .build();
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH,
+                    INSERT_ONE_NOTE_FILE_PATH,
+                    INSERT_TWO_LONG_DELETED_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that purge() endpoint hard deletes only notes deleted before the retention
+            """)
+    public void purge_LongDeletedNotes_Success() throws Exception {
+        // a note deleted just now is kept until the retention passes
+        jdbcTemplate.update("""
+                INSERT INTO notes (id, title, created_at, is_deleted, deleted_at)
+                VALUES (4, 'Fourth title', LOCALTIMESTAMP, TRUE, LOCALTIMESTAMP)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO note_bodies (note_id, content) VALUES (4, 'Fourth content')
+                """);
+
+        MvcResult result = mockMvc.perform(post("/admin/notes/purge"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NotePurgeResultDto purgeResult = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NotePurgeResultDto.class
+        );
+
+        assertThat(purgeResult.purgedCount()).isEqualTo(2L);
+
+        Long remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notes", Long.class);
+
+        assertThat(remaining).isEqualTo(2L);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH,
+                    INSERT_ONE_NOTE_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getStorageStats() endpoint reports long content as compressed with lz4
+            and recompress() endpoint has nothing to rewrite then
+            """)
+    public void getStorageStats_LongContent_CompressedWithLz4() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO notes (id, title, created_at) VALUES (2, 'Second title', LOCALTIMESTAMP)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO note_bodies (note_id, content) VALUES (2, repeat('lorem ipsum ', 500))
+                """);
+
+        MvcResult result = mockMvc.perform(get("/admin/notes/storage"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteStorageStatsDto stats = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteStorageStatsDto.class
+        );
+
+        assertThat(stats.rowCount()).isEqualTo(2L);
+        assertThat(stats.lz4CompressedCount()).isEqualTo(1L);
+        assertThat(stats.storedContentBytes()).isLessThan(stats.contentBytes());
+
+        result = mockMvc.perform(post("/admin/notes/recompress"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteRecompressionResultDto recompressionResult = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteRecompressionResultDto.class
+        );
+
+        assertThat(recompressionResult.skipped()).isFalse();
+        assertThat(recompressionResult.rewrittenCount()).isEqualTo(0L);
+    }
+}
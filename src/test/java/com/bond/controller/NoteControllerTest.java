@@ -2,17 +2,30 @@ package com.bond.controller;
 
 import static java.time.LocalDateTime.now;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.bond.dto.NoteBatchResultDto;
+import com.bond.dto.NoteChangeDto;
+import com.bond.dto.NoteChangesResponseDto;
+import com.bond.dto.NoteCursorPageResponseDto;
+import com.bond.dto.NoteImportResultDto;
 import com.bond.dto.NoteRequestDto;
 import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
 import com.bond.holder.LinksHolder;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +34,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
@@ -35,6 +49,8 @@ class NoteControllerTest extends LinksHolder {
     protected static MockMvc mockMvc;
     private static final String CREATED_AT_FIELD = "createdAt";
     private static final String LAST_UPDATED_AT_FIELD = "lastUpdatedAt";
+    // the dates of the notes inserted by the sql scripts as they are written to JSON
+    private static final String INSERTED_DATE = "2024-05-30T13:46:19.204241";
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -74,7 +90,7 @@ class NoteControllerTest extends LinksHolder {
                 .andReturn();
 
         NoteResponseDto expected = new NoteResponseDto(
-                1L, "Test title", "Test content", now(), now()
+                1L, "Test title", "Test content", now(), now(), 0L
         );
 
         NoteResponseDto actual = objectMapper.readValue(
@@ -167,7 +183,7 @@ class NoteControllerTest extends LinksHolder {
         assertThat(responseDtos).hasSize(5);
 
         NoteResponseDto expectedFirstResponseDto = new NoteResponseDto(
-                1L, "First title", "First content", now(), now()
+                1L, "First title", "First content", now(), now(), 0L
         );
 
         assertThat(responseDtos[0]).usingRecursiveComparison()
@@ -199,7 +215,7 @@ class NoteControllerTest extends LinksHolder {
                 .andReturn();
 
         NoteResponseDto expected = new NoteResponseDto(
-                1L, "First title", "First content", now(), now()
+                1L, "First title", "First content", now(), now(), 0L
         );
 
         NoteResponseDto actual = objectMapper.readValue(
@@ -211,6 +227,91 @@ class NoteControllerTest extends LinksHolder {
                 .isEqualTo(expected);
     }
 
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_ONE_NOTE_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getById() endpoint returns CBOR when it is requested by Accept header
+            """)
+    public void getById_AcceptCbor_ReturnsCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/notes/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE,
+                        MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn();
+
+        NoteResponseDto expected = new NoteResponseDto(
+                1L, "First title", "First content",
+                LocalDateTime.parse(INSERTED_DATE), LocalDateTime.parse(INSERTED_DATE), 0L
+        );
+        byte[] content = result.getResponse().getContentAsByteArray();
+
+        NoteResponseDto actual = new CBORMapper().findAndRegisterModules()
+                .readValue(content, NoteResponseDto.class);
+        JsonNode encoded = new CBORMapper().readTree(content);
+
+        assertThat(actual).isEqualTo(expected);
+        // ISO strings like in JSON, not the arrays a mapper without Spring's settings writes
+        assertThat(encoded.get(CREATED_AT_FIELD).isTextual()).isTrue();
+        assertThat(encoded.get(CREATED_AT_FIELD).asText()).isEqualTo(INSERTED_DATE);
+        assertThat(encoded.get(LAST_UPDATED_AT_FIELD).asText()).isEqualTo(INSERTED_DATE);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getAll() endpoint returns Smile when it is requested by Accept header
+            and JSON otherwise
+            """)
+    public void getAll_AcceptSmile_ReturnsSmile() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        MvcResult result = mockMvc.perform(get("/notes?page=0&size=2&sort=id")
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, smile.toString()))
+                .andReturn();
+
+        byte[] content = result.getResponse().getContentAsByteArray();
+
+        NoteResponseDto[] responseDtos = new SmileMapper().findAndRegisterModules()
+                .readValue(content, NoteResponseDto[].class);
+        JsonNode encoded = new SmileMapper().readTree(content);
+
+        assertThat(responseDtos).hasSize(2);
+        assertThat(responseDtos[1].title()).isEqualTo("Second title");
+        assertThat(responseDtos[1].createdAt()).isEqualTo(LocalDateTime.parse(INSERTED_DATE));
+        assertThat(encoded.get(1).get(CREATED_AT_FIELD).isTextual()).isTrue();
+        assertThat(encoded.get(1).get(CREATED_AT_FIELD).asText()).isEqualTo(INSERTED_DATE);
+        assertThat(encoded.get(1).get(LAST_UPDATED_AT_FIELD).asText()).isEqualTo(INSERTED_DATE);
+
+        mockMvc.perform(get("/notes").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE,
+                        MediaType.APPLICATION_JSON_VALUE));
+    }
+
     @Test
     @DisplayName("""
             Verify that getById() endpoint works as expected when passing a non-valid id
@@ -231,6 +332,146 @@ class NoteControllerTest extends LinksHolder {
         assertThat(actualMessage).isEqualTo(expectedMessage);
     }
 
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_ONE_NOTE_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getById() endpoint returns 304 when the note has not changed
+            """)
+    public void getById_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        Long id = 1L;
+
+        mockMvc.perform(get("/notes/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        MvcResult result = mockMvc.perform(get("/notes/" + id)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                )
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getAll() endpoint returns 304 only while the listed notes are the same
+            """)
+    public void getAll_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        String listTag = mockMvc.perform(get("/notes?page=0&size=5"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/notes?page=0&size=5")
+                        .header(HttpHeaders.IF_NONE_MATCH, listTag)
+                )
+                .andExpect(status().isNotModified());
+
+        NoteRequestDto requestDto = new NoteRequestDto("New title", null);
+        mockMvc.perform(put("/notes/1")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/notes?page=0&size=5")
+                        .header(HttpHeaders.IF_NONE_MATCH, listTag)
+                )
+                .andExpect(status().isOk());
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_ONE_NOTE_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that update() endpoint returns 412 for a stale If-Match
+            """)
+    public void update_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        String content = objectMapper.writeValueAsString(new NoteRequestDto("New title", null));
+
+        mockMvc.perform(put("/notes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(content)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // the note has version 1 now, so an update based on version 0 is rejected
+        mockMvc.perform(put("/notes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(content)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_ONE_NOTE_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that delete() endpoint returns 412 for a stale If-Match and keeps the note
+            """)
+    public void delete_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        mockMvc.perform(delete("/notes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                )
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/notes/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/notes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                )
+                .andExpect(status().isNoContent());
+    }
+
     @Sql(
             scripts = {
                     DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
@@ -272,6 +513,62 @@ class NoteControllerTest extends LinksHolder {
         assertThat(responseDtos).hasSize(4);
     }
 
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getChanges() endpoint returns only notes changed since the token
+            """)
+    public void getChanges_ChangedAndDeletedNotes_ReturnsDelta() throws Exception {
+        mockMvc.perform(delete("/notes/1"))
+                .andExpect(status().isNoContent());
+
+        NoteChangesResponseDto firstResponse = getChanges(null);
+
+        assertThat(firstResponse.changes().size()).isEqualTo(5);
+        assertThat(firstResponse.hasMore()).isFalse();
+        // the deleted note was changed last, it comes as a tombstone
+        NoteChangeDto tombstone = firstResponse.changes().get(4);
+        assertThat(tombstone.id()).isEqualTo(1L);
+        assertThat(tombstone.deleted()).isTrue();
+        assertThat(tombstone.title()).isNull();
+
+        assertThat(getChanges(firstResponse.nextToken()).changes().isEmpty()).isTrue();
+
+        NoteRequestDto requestDto = new NoteRequestDto("New title", null);
+        mockMvc.perform(put("/notes/2")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk());
+
+        NoteChangesResponseDto secondResponse = getChanges(firstResponse.nextToken());
+
+        assertThat(secondResponse.changes().size()).isEqualTo(1);
+        assertThat(secondResponse.changes().get(0).id()).isEqualTo(2L);
+        assertThat(secondResponse.changes().get(0).title()).isEqualTo("New title");
+        assertThat(secondResponse.changes().get(0).deleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that delete() endpoint fails for a non-existing note
+            """)
+    public void delete_NonExistingId_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(delete("/notes/" + 12551L))
+                .andExpect(status().isBadRequest());
+    }
+
     @Sql(
             scripts = {
                     DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
@@ -384,7 +681,7 @@ class NoteControllerTest extends LinksHolder {
                 result.getResponse().getContentAsString(), NoteResponseDto.class
         );
         NoteResponseDto expected = new NoteResponseDto(
-                1L, "New title", "New content", now(), now()
+                1L, "New title", "New content", now(), now(), 1L
         );
 
         assertThat(actual).usingRecursiveComparison()
@@ -433,4 +730,278 @@ class NoteControllerTest extends LinksHolder {
         assertThat(result.getResolvedException().getClass())
                 .isEqualTo(EntityNotFoundException.class);
     }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that scroll() endpoint walks through all the notes using cursors
+            """)
+    public void scroll_ValidRequest_Success() throws Exception {
+        MvcResult result = mockMvc.perform(get("/notes/cursor")
+                        .param("size", "3")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteCursorPageResponseDto firstPage = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteCursorPageResponseDto.class
+        );
+
+        // all the notes have the same createdAt, so they are ordered by id descending
+        assertThat(firstPage.content().size()).isEqualTo(3);
+        assertThat(firstPage.content().get(0).id()).isEqualTo(5L);
+        assertThat(firstPage.hasNext()).isTrue();
+
+        result = mockMvc.perform(get("/notes/cursor")
+                        .param("size", "3")
+                        .param("after", firstPage.nextCursor())
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteCursorPageResponseDto secondPage = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteCursorPageResponseDto.class
+        );
+
+        assertThat(secondPage.content().size()).isEqualTo(2);
+        assertThat(secondPage.content().get(0).id()).isEqualTo(2L);
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getAll() endpoint returns total count only when it is requested
+            """)
+    public void getAll_IncludeTotal_ReturnsTotalCountHeader() throws Exception {
+        MvcResult result = mockMvc.perform(get("/notes")
+                        .param("size", "2")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(NoteController.TOTAL_COUNT_HEADER)).isNull();
+
+        result = mockMvc.perform(get("/notes")
+                        .param("size", "2")
+                        .param("includeTotal", "true")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteResponseDto[] responseDtos = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteResponseDto[].class
+        );
+
+        assertThat(responseDtos).hasSize(2);
+        assertThat(result.getResponse().getHeader(NoteController.TOTAL_COUNT_HEADER))
+                .isEqualTo("5");
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that getAll() endpoint returns summaries with a snippet of content
+            """)
+    public void getAll_SummaryView_ReturnsSnippets() throws Exception {
+        MvcResult result = mockMvc.perform(get("/notes")
+                        .param("view", "summary")
+                        .param("sort", "id")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteSummaryDto[] summaryDtos = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteSummaryDto[].class
+        );
+
+        assertThat(summaryDtos).hasSize(5);
+
+        // snippet length is set to 5 in test properties
+        NoteSummaryDto expectedFirstSummaryDto = new NoteSummaryDto(
+                1L, "First title", "First", now(), now()
+        );
+
+        assertThat(summaryDtos[0]).usingRecursiveComparison()
+                .ignoringFields(CREATED_AT_FIELD, LAST_UPDATED_AT_FIELD)
+                .isEqualTo(expectedFirstSummaryDto);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that deleteAll() endpoint deletes existing notes and reports missing ones
+            """)
+    public void deleteAll_PartiallyValidRequest_ReturnsPerItemResults() throws Exception {
+        MvcResult result = mockMvc.perform(delete("/notes/batch")
+                        .param("ids", "1", "2", "12551")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteBatchResultDto[] results = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteBatchResultDto[].class
+        );
+
+        assertThat(results).hasSize(3);
+        assertThat(results[0].success()).isTrue();
+        assertThat(results[1].success()).isTrue();
+        assertThat(results[2].success()).isFalse();
+        assertThat(results[2].error()).isEqualTo("Can't find a note with id 12551");
+
+        result = mockMvc.perform(get("/notes"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteResponseDto[] responseDtos = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteResponseDto[].class
+        );
+
+        assertThat(responseDtos).hasSize(3);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that export() endpoint streams all the notes as newline-delimited JSON
+            """)
+    public void export_ValidRequest_Success() throws Exception {
+        MvcResult result = mockMvc.perform(get("/notes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        result = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+
+        assertThat(lines).hasSize(5);
+
+        NoteResponseDto expectedFirstResponseDto = new NoteResponseDto(
+                1L, "First title", "First content", now(), now(), 0L
+        );
+
+        assertThat(objectMapper.readValue(lines[0], NoteResponseDto.class))
+                .usingRecursiveComparison()
+                .ignoringFields(CREATED_AT_FIELD, LAST_UPDATED_AT_FIELD)
+                .isEqualTo(expectedFirstResponseDto);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that importNotes() endpoint loads valid notes and reports non-valid ones
+            """)
+    public void importNotes_PartiallyValidRequest_Success() throws Exception {
+        String body = """
+                {"title": "First title", "content": "First content"}
+                {"title": "", "content": "Second content"}
+                {"title": "Third title", "content": "Third content"}
+                """;
+
+        MvcResult result = mockMvc.perform(post("/notes/import")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteImportResultDto importResult = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteImportResultDto.class
+        );
+
+        assertThat(importResult.importedCount()).isEqualTo(2);
+        assertThat(importResult.rejectedCount()).isEqualTo(1);
+        assertThat(importResult.rejections().get(0).line()).isEqualTo(2);
+
+        result = mockMvc.perform(get("/notes"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NoteResponseDto[] responseDtos = objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteResponseDto[].class
+        );
+
+        assertThat(responseDtos).hasSize(2);
+    }
+
+    private NoteChangesResponseDto getChanges(String since) throws Exception {
+        MvcResult result = mockMvc.perform(since == null
+                        ? get("/notes/changes")
+                        : get("/notes/changes").param("since", since)
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(), NoteChangesResponseDto.class
+        );
+    }
 }
@@ -0,0 +1,108 @@
+package com.bond.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bond.holder.LinksHolder;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+// a small pool with a short connection timeout, so a request waiting on Hikari fails fast
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.hikari.maximum-pool-size=4",
+                "spring.datasource.hikari.connection-timeout=250",
+                "notes.bulkhead.max-wait=1m"
+        }
+)
+class NoteExportBulkheadTest extends LinksHolder {
+    private static final int NOTES = 20_000;
+    private static final int EXPORTS = 12;
+    private static final int READS = 40;
+    private static final String SEED_NOTES_QUERY = """
+            WITH inserted_notes AS (
+                INSERT INTO notes (title, created_at, last_updated_at)
+                SELECT 'Title ' || i, LOCALTIMESTAMP, LOCALTIMESTAMP
+                FROM generate_series(1, ?) AS i
+                RETURNING id
+            )
+            INSERT INTO note_bodies (note_id, content)
+            SELECT id, repeat('lorem ipsum ', 20) FROM inserted_notes
+            """;
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that concurrent exports and reads never wait for a connection
+            """)
+    public void exportsAndReads_Concurrent_StayWithinPool() throws Exception {
+        jdbcTemplate.update(SEED_NOTES_QUERY, NOTES);
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger maxAwaiting = new AtomicInteger();
+        Thread sampler = Thread.startVirtualThread(() -> {
+            while (running.get()) {
+                maxAwaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < EXPORTS + READS; i++) {
+                URI uri = URI.create("http://localhost:" + port + "/api/notes"
+                        + (i % 4 == 0 && i / 4 < EXPORTS ? "/export" : "?size=5"));
+                statuses.add(executor.submit(() -> client.send(
+                        HttpRequest.newBuilder(uri).build(),
+                        HttpResponse.BodyHandlers.discarding()
+                ).statusCode()));
+            }
+        }
+        running.set(false);
+        sampler.join();
+
+        for (Future<Integer> status : statuses) {
+            assertThat(status.get()).isEqualTo(200);
+        }
+        assertThat(maxAwaiting.get()).isZero();
+    }
+}
@@ -0,0 +1,218 @@
+package com.bond.controller;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.bond.dto.NoteBatchResultDto;
+import com.bond.dto.NoteBatchUpdateRequestDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.holder.LinksHolder;
+import com.bond.metrics.QueryCounter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NoteQueryCountTest extends LinksHolder {
+    protected static MockMvc mockMvc;
+    private static final int MAX_BATCH_SIZE = 1000;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .build();
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH,
+                    INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("Verify that reading notes takes one query per page and one for the total")
+    public void read_FiveNotes_ExpectedQueryCount() throws Exception {
+        assertThat(countQueries(get("/notes?page=0&size=3"))).isEqualTo(1L);
+        assertThat(countQueries(get("/notes?page=0&size=3&includeTotal=true"))).isEqualTo(2L);
+        assertThat(countQueries(get("/notes?page=0&size=3&view=summary"))).isEqualTo(1L);
+        // bodies of a window are loaded lazily with one batch query
+        assertThat(countQueries(get("/notes/cursor?size=3"))).isEqualTo(2L);
+        assertThat(countQueries(get("/notes/1"))).isEqualTo(1L);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH,
+                    INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("Verify that searching notes takes one query per page and one for the total")
+    public void search_FiveNotes_ExpectedQueryCount() throws Exception {
+        assertThat(countQueries(get("/notes/search?title=title"))).isEqualTo(1L);
+        assertThat(countQueries(get("/notes/search?title=title&includeTotal=true")))
+                .isEqualTo(2L);
+        assertThat(countQueries(get("/notes/search?title=title&view=summary"))).isEqualTo(1L);
+        assertThat(countQueries(get("/notes/search/cursor?title=title&size=3")))
+                .isEqualTo(2L);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH,
+                    INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("Verify that writing a single note takes a constant number of queries")
+    public void write_SingleNote_ExpectedQueryCount() throws Exception {
+        NoteRequestDto requestDto = new NoteRequestDto("New title", "New content");
+
+        // the sequence is only called once per allocation of identifiers
+        assertThat(countQueries(post("/notes")
+                .content(objectMapper.writeValueAsString(requestDto))
+                .contentType(MediaType.APPLICATION_JSON)))
+                .isLessThanOrEqualTo(3L);
+        assertThat(countQueries(put("/notes/1")
+                .content(objectMapper.writeValueAsString(requestDto))
+                .contentType(MediaType.APPLICATION_JSON)))
+                .isEqualTo(1L);
+        assertThat(countQueries(delete("/notes/2"))).isEqualTo(1L);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH,
+                    INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("Verify that batch endpoints do not take a query per note")
+    public void writeBatch_SeveralNotes_ExpectedQueryCount() throws Exception {
+        List<NoteRequestDto> createRequests = List.of(
+                new NoteRequestDto("Sixth title", "Sixth content"),
+                new NoteRequestDto("Seventh title", "Seventh content"),
+                new NoteRequestDto("Eighth title", "Eighth content")
+        );
+        List<NoteBatchUpdateRequestDto> updateRequests = List.of(
+                new NoteBatchUpdateRequestDto(1L, "Updated title", null),
+                new NoteBatchUpdateRequestDto(2L, null, "Updated content"),
+                new NoteBatchUpdateRequestDto(3L, "Updated title", "Updated content")
+        );
+
+        assertThat(countQueries(post("/notes/batch")
+                .content(objectMapper.writeValueAsString(createRequests))
+                .contentType(MediaType.APPLICATION_JSON)))
+                .isLessThanOrEqualTo(3L);
+        // notes and their bodies are updated with a JDBC batch each
+        assertThat(countQueries(put("/notes/batch")
+                .content(objectMapper.writeValueAsString(updateRequests))
+                .contentType(MediaType.APPLICATION_JSON)))
+                .isEqualTo(3L);
+        assertThat(countQueries(delete("/notes/batch?ids=4,5"))).isEqualTo(1L);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("Verify that the biggest allowed batches stay within their query budgets")
+    public void writeBatch_MaxBatchSize_WithinQueryBudget() throws Exception {
+        List<NoteRequestDto> createRequests = IntStream.range(0, MAX_BATCH_SIZE)
+                .mapToObj(i -> new NoteRequestDto("Title " + i, "Content " + i))
+                .toList();
+
+        long before = queryCounter.current();
+        MvcResult result = mockMvc.perform(post("/notes/batch")
+                        .content(objectMapper.writeValueAsString(createRequests))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        // 20 sequence calls, 20 batches of notes and 20 batches of note_bodies
+        assertThat(queryCounter.current() - before).isLessThanOrEqualTo(60L);
+
+        List<NoteBatchResultDto> createResults = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<List<NoteBatchResultDto>>() { }
+        );
+        assertTrue(createResults.stream().allMatch(NoteBatchResultDto::success));
+        List<NoteBatchUpdateRequestDto> updateRequests = createResults.stream()
+                .map(createResult -> new NoteBatchUpdateRequestDto(
+                        createResult.id(), "Updated title", "Updated content"
+                ))
+                .toList();
+
+        // a select, 20 batches of notes and 20 batches of note_bodies
+        assertThat(countQueries(put("/notes/batch")
+                .content(objectMapper.writeValueAsString(updateRequests))
+                .contentType(MediaType.APPLICATION_JSON)))
+                .isLessThanOrEqualTo(41L);
+    }
+
+    private long countQueries(RequestBuilder requestBuilder) throws Exception {
+        long before = queryCounter.current();
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is2xxSuccessful());
+        return queryCounter.current() - before;
+    }
+}
@@ -7,4 +7,6 @@ public abstract class LinksHolder {
             = "classpath:database/insert-five-notes.sql";
     protected static final String INSERT_ONE_NOTE_FILE_PATH
             = "classpath:database/insert-one-note.sql";
+    protected static final String INSERT_TWO_LONG_DELETED_NOTES_FILE_PATH
+            = "classpath:database/insert-two-long-deleted-notes.sql";
 }
@@ -0,0 +1,98 @@
+package com.bond.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class BulkheadInterceptorTest {
+    private BulkheadInterceptor bulkheadInterceptor;
+    private HandlerMethod exportHandler;
+    private HandlerMethod streamHandler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        bulkheadInterceptor = new BulkheadInterceptor(1, Duration.ZERO);
+        AsyncHandlers handlers = new AsyncHandlers();
+        exportHandler = new HandlerMethod(handlers, AsyncHandlers.class.getMethod("export"));
+        streamHandler = new HandlerMethod(handlers, AsyncHandlers.class.getMethod("stream"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that a streamed export keeps its permit until its async dispatch completes
+            """)
+    public void export_AsyncHandlingStarted_PermitKeptUntilAsyncDispatchCompletes()
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(bulkheadInterceptor.preHandle(request, response, exportHandler));
+        bulkheadInterceptor.afterConcurrentHandlingStarted(request, response, exportHandler);
+
+        assertFalse(tryOtherRequest());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(bulkheadInterceptor.preHandle(request, response, exportHandler));
+        bulkheadInterceptor.afterCompletion(request, response, exportHandler, null);
+
+        assertTrue(tryOtherRequest());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that an SSE stream releases its permit once async handling starts
+            """)
+    public void stream_AsyncHandlingStarted_PermitReleased() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(bulkheadInterceptor.preHandle(request, response, streamHandler));
+        bulkheadInterceptor.afterConcurrentHandlingStarted(request, response, streamHandler);
+
+        assertTrue(tryOtherRequest());
+
+        // the async dispatch after the emitter completes neither takes nor releases a permit
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(bulkheadInterceptor.preHandle(request, response, streamHandler));
+        bulkheadInterceptor.afterCompletion(request, response, streamHandler, null);
+
+        assertTrue(tryOtherRequest());
+    }
+
+    // a regular request, which releases its permit again when it got one
+    private boolean tryOtherRequest() throws InterruptedException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean accepted = bulkheadInterceptor.preHandle(request, response, exportHandler);
+        if (accepted) {
+            bulkheadInterceptor.afterCompletion(request, response, exportHandler, null);
+        } else {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        }
+        return accepted;
+    }
+
+    static class AsyncHandlers {
+
+        public ResponseEntity<StreamingResponseBody> export() {
+            return ResponseEntity.ok(outputStream -> { });
+        }
+
+        public SseEmitter stream() {
+            return new SseEmitter();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bond.load;
+
+public record EndpointLoadResult(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughput,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double maxMillis
+) {
+}
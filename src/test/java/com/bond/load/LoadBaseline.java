@@ -0,0 +1,51 @@
+package com.bond.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// p99 latencies per endpoint of a run that was accepted as the reference
+final class LoadBaseline {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final Map<String, Double> p99Millis;
+
+    private LoadBaseline(Map<String, Double> p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    static LoadBaseline read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw new IllegalStateException("There is no baseline at " + path
+                    + ", run with -Dload.update-baseline=true to store one");
+        }
+        return new LoadBaseline(OBJECT_MAPPER.readValue(
+                path.toFile(), new TypeReference<LinkedHashMap<String, Double>>() { }
+        ));
+    }
+
+    static void write(Path path, List<EndpointLoadResult> results) throws IOException {
+        Map<String, Double> p99Millis = new LinkedHashMap<>();
+        results.forEach(result -> p99Millis.put(result.endpoint(), result.p99Millis()));
+        Files.createDirectories(path.getParent());
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), p99Millis);
+    }
+
+    // endpoints missing from the baseline are not checked
+    List<String> findRegressions(List<EndpointLoadResult> results, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (EndpointLoadResult result : results) {
+            Double baseline = p99Millis.get(result.endpoint());
+            if (baseline != null && result.p99Millis() > baseline * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.2f ms, baseline %.2f ms",
+                        result.endpoint(), result.p99Millis(), baseline));
+            }
+        }
+        return regressions;
+    }
+}
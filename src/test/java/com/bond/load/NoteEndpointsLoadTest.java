@@ -0,0 +1,246 @@
+package com.bond.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.bond.dto.NoteRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+ everything is configurable with -D properties, see the @Value defaults below
+ run with mvn test -Pload-test, the tests are skipped by a regular build
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // overload should show up in latencies instead of 503 responses
+        properties = "notes.bulkhead.max-wait=1m"
+)
+class NoteEndpointsLoadTest {
+    private static final String TITLE_PREFIX = "load-";
+    private static final String DELETE_TITLE_PREFIX = "load-delete-";
+    private static final String SEED_NOTES_QUERY = """
+            WITH inserted_notes AS (
+                INSERT INTO notes (title, created_at, last_updated_at)
+                SELECT ? || i, LOCALTIMESTAMP - i * INTERVAL '1 second', LOCALTIMESTAMP
+                FROM generate_series(1, ?) AS i
+                RETURNING id
+            )
+            INSERT INTO note_bodies (note_id, content)
+            SELECT id, substring(repeat('lorem ipsum dolor sit amet ', ? / 27 + 1) FROM 1 FOR ?)
+            FROM inserted_notes
+            """;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${load.notes.count:10000}")
+    private int notesCount;
+    // content length:weight pairs, the default is mostly short notes with some of maximum size
+    @Value("${load.content-lengths:100:70,2000:25,20000:5}")
+    private String contentLengths;
+    @Value("${load.concurrency:50}")
+    private int concurrency;
+    @Value("${load.requests:2000}")
+    private int requests;
+    @Value("${load.warm-up-requests:200}")
+    private int warmUpRequests;
+    @Value("${load.baseline:src/test/resources/load/note-endpoints-baseline.json}")
+    private Path baselinePath;
+    @Value("${load.results:target/load-results/note-endpoints.json}")
+    private Path resultsPath;
+    @Value("${load.p99-tolerance:0.2}")
+    private double p99Tolerance;
+    @Value("${load.update-baseline:false}")
+    private boolean updateBaseline;
+    private HttpClient client;
+    private List<Long> ids;
+    private List<Long> idsToDelete;
+
+    @BeforeEach
+    void seed() {
+        deleteSeededNotes();
+        String[] pairs = contentLengths.split(",");
+        int totalWeight = 0;
+        for (String pair : pairs) {
+            totalWeight += Integer.parseInt(pair.split(":")[1]);
+        }
+        for (String pair : pairs) {
+            int length = Integer.parseInt(pair.split(":")[0]);
+            int count = notesCount * Integer.parseInt(pair.split(":")[1]) / totalWeight;
+            jdbcTemplate.update(SEED_NOTES_QUERY,
+                    TITLE_PREFIX + length + "-", count, length, length);
+        }
+        // every delete request needs a note of its own
+        jdbcTemplate.update(SEED_NOTES_QUERY,
+                DELETE_TITLE_PREFIX, warmUpRequests + requests, 100, 100);
+        jdbcTemplate.execute("ANALYZE notes, note_bodies");
+        ids = findIds(TITLE_PREFIX + "%", DELETE_TITLE_PREFIX + "%");
+        idsToDelete = findIds(DELETE_TITLE_PREFIX + "%", "");
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @AfterEach
+    void deleteSeededNotes() {
+        jdbcTemplate.update("DELETE FROM notes WHERE title LIKE ?", TITLE_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that p99 latency of every endpoint is not worse than the baseline
+            """)
+    public void noteEndpoints_SeededDatabase_P99WithinBaseline() throws Exception {
+        AtomicLong deleted = new AtomicLong();
+        List<EndpointLoadResult> results = List.of(
+                drive("GET /notes", i -> get("/notes?page=" + i % 10)),
+                drive("GET /notes/{id}", i -> get("/notes/" + pickId(i))),
+                drive("GET /notes/search", i -> get("/notes/search?title=" + TITLE_PREFIX + i)),
+                drive("POST /notes", i -> send("POST", "/notes",
+                        new NoteRequestDto(TITLE_PREFIX + "created-" + i, "Created content"))),
+                drive("PUT /notes/{id}", i -> send("PUT", "/notes/" + pickId(i),
+                        new NoteRequestDto(TITLE_PREFIX + "updated-" + i, null))),
+                drive("DELETE /notes/{id}", i -> HttpRequest.newBuilder(uri("/notes/"
+                                + idsToDelete.get((int) deleted.getAndIncrement())))
+                        .DELETE()
+                        .build())
+        );
+
+        Files.createDirectories(resultsPath.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultsPath.toFile(), results);
+
+        assertThat(results).allMatch(result -> result.errors() == 0);
+        boolean hasBaseline = Files.exists(baselinePath);
+        if (updateBaseline || !hasBaseline) {
+            LoadBaseline.write(baselinePath, results);
+            // the first run on a checkout has nothing to compare with, it becomes the baseline
+            assumeTrue(hasBaseline, "There was no baseline at " + baselinePath
+                    + ", the results of this run were stored as one, commit it to compare");
+            return;
+        }
+        assertThat(LoadBaseline.read(baselinePath).findRegressions(results, p99Tolerance))
+                .isEmpty();
+    }
+
+    private EndpointLoadResult drive(
+            String endpoint,
+            IntFunction<HttpRequest> requestFactory
+    ) throws Exception {
+        run(requestFactory, 0, warmUpRequests, new ConcurrentHistogram(
+                HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS), new AtomicLong());
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        AtomicLong errors = new AtomicLong();
+        long startedAt = System.nanoTime();
+        run(requestFactory, warmUpRequests, requests, histogram, errors);
+        double seconds = (System.nanoTime() - startedAt) / (NANOS_IN_MILLI * 1000);
+        return new EndpointLoadResult(
+                endpoint,
+                requests,
+                errors.get(),
+                requests / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_IN_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_IN_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_IN_MILLI,
+                histogram.getMaxValue() / NANOS_IN_MILLI
+        );
+    }
+
+    private void run(
+            IntFunction<HttpRequest> requestFactory,
+            int from,
+            int count,
+            Histogram histogram,
+            AtomicLong errors
+    ) throws InterruptedException {
+        Semaphore clients = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = from; i < from + count; i++) {
+                HttpRequest request = requestFactory.apply(i);
+                clients.acquire();
+                executor.execute(() -> {
+                    long startedAt = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                        if (status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        histogram.recordValue(Math.min(
+                                System.nanoTime() - startedAt, HIGHEST_TRACKABLE_NANOS));
+                        clients.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, NoteRequestDto requestDto) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(requestDto)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api" + path);
+    }
+
+    private long pickId(int index) {
+        return ids.get(Math.floorMod(index * 7919, ids.size()));
+    }
+
+    private List<Long> findIds(String titlePattern, String excludedPattern) {
+        return new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT id FROM notes WHERE title LIKE ? AND title NOT LIKE ? ORDER BY id",
+                Long.class, titlePattern, excludedPattern));
+    }
+}
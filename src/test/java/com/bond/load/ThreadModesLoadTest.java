@@ -0,0 +1,173 @@
+package com.bond.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bond.Application;
+import com.bond.holder.LinksHolder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/*
+ starts the application in platform thread and in virtual thread mode one after another
+ and fires the same burst of concurrent reads at both, the numbers of both runs
+ are saved to target/load-results/thread-modes.json
+ */
+@Tag("load")
+class ThreadModesLoadTest extends LinksHolder {
+    private static final int CONCURRENT_CLIENTS = 1000;
+    private static final int REQUESTS = 20_000;
+    private static final int WARM_UP_REQUESTS = 2_000;
+    private static final double P99 = 0.99;
+    // virtual threads have to keep up at least with the platform thread pool
+    private static final double THROUGHPUT_TOLERANCE = 0.2;
+    private static final Path RESULTS_PATH = Path.of("target/load-results/thread-modes.json");
+
+    @Test
+    @DisplayName("""
+            Verify that virtual threads serve concurrent reads at least as fast as platform threads
+            """)
+    public void concurrentReads_PlatformAndVirtualThreads_VirtualThreadsKeepUp() throws Exception {
+        ThreadModeLoadResult platform = measure("platform threads", false);
+        ThreadModeLoadResult virtual = measure("virtual threads", true);
+        Files.createDirectories(RESULTS_PATH.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(RESULTS_PATH.toFile(), List.of(platform, virtual));
+
+        assertThat(platform.failed()).isZero();
+        assertThat(virtual.failed()).isZero();
+        assertThat(virtual.throughput())
+                .isGreaterThanOrEqualTo(platform.throughput() * (1 - THROUGHPUT_TOLERANCE));
+    }
+
+    private ThreadModeLoadResult measure(String mode, boolean virtualThreads) throws Exception {
+        try (ServletWebServerApplicationContext context =
+                     (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                             Application.class)
+                             .properties(
+                                     "server.port=0",
+                                     "spring.threads.virtual.enabled=" + virtualThreads
+                             )
+                             .run()) {
+            DataSource dataSource = context.getBean(DataSource.class);
+            populate(context, dataSource, DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH);
+            try {
+                return measure(mode, context.getWebServer().getPort());
+            } finally {
+                populate(context, dataSource, DELETE_ALL_NOTES_FILE_PATH);
+            }
+        }
+    }
+
+    private ThreadModeLoadResult measure(String mode, int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        run(client, port, WARM_UP_REQUESTS);
+
+        long startedAt = System.nanoTime();
+        List<Result> results = run(client, port, REQUESTS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        long[] latencies = results.stream()
+                .filter(Result::isOk)
+                .mapToLong(Result::latencyNanos)
+                .sorted()
+                .toArray();
+        long p99 = latencies.length == 0
+                ? 0
+                : latencies[(int) Math.ceil(latencies.length * P99) - 1];
+        return new ThreadModeLoadResult(
+                mode,
+                REQUESTS,
+                CONCURRENT_CLIENTS,
+                latencies.length / (elapsed.toMillis() / 1000.0),
+                Duration.ofNanos(p99).toMillis(),
+                results.stream().filter(Result::isRejected).count(),
+                results.stream().filter(result -> !result.isOk() && !result.isRejected()).count()
+        );
+    }
+
+    private List<Result> run(HttpClient client, int port, int requests) throws Exception {
+        Semaphore clients = new Semaphore(CONCURRENT_CLIENTS);
+        List<Future<Result>> futures = new ArrayList<>(requests);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                URI uri = URI.create(i % 2 == 0
+                        ? "http://localhost:" + port + "/api/notes/" + (i % 5 + 1)
+                        : "http://localhost:" + port + "/api/notes?page=0&size=5");
+                clients.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return send(client, uri);
+                    } finally {
+                        clients.release();
+                    }
+                }));
+            }
+        }
+        List<Result> results = new ArrayList<>(requests);
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private Result send(HttpClient client, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long startedAt = System.nanoTime();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return new Result(status, System.nanoTime() - startedAt);
+    }
+
+    private void populate(
+            ServletWebServerApplicationContext context,
+            DataSource dataSource,
+            String... scripts
+    ) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        for (String script : scripts) {
+            populator.addScript(context.getResource(script));
+        }
+        populator.execute(dataSource);
+    }
+
+    public record ThreadModeLoadResult(
+            String mode,
+            int requests,
+            int concurrentClients,
+            double throughput,
+            long p99Millis,
+            long rejected,
+            long failed
+    ) {
+    }
+
+    private record Result(int status, long latencyNanos) {
+        boolean isOk() {
+            return status == 200;
+        }
+
+        boolean isRejected() {
+            return status == 503;
+        }
+    }
+}
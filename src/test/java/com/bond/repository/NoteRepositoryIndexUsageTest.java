@@ -0,0 +1,220 @@
+package com.bond.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bond.holder.LinksHolder;
+import com.bond.model.Note;
+import com.bond.repository.specification.NoteSpecificationBuilder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ the repository methods are called for real, the statements they send are captured
+ by a datasource-proxy listener and explained with their bound parameters
+ sequential scans are disabled, so on the tiny test table the planner picks an index
+ whenever one can serve the query, and a missing index shows up as a Seq Scan
+ */
+@SpringBootTest
+@Transactional
+class NoteRepositoryIndexUsageTest extends LinksHolder {
+    private static final int PAGE_SIZE = 6;
+    private final List<QueryInfo> statements = new ArrayList<>();
+    private final QueryExecutionListener statementCapturer = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+            statements.addAll(queryInfoList);
+        }
+    };
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteChangeRepository noteChangeRepository;
+    @Autowired
+    private NoteSpecificationBuilder noteSpecificationBuilder;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("ANALYZE notes, note_bodies");
+        getQueryListener().addListener(statementCapturer);
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        getQueryListener().getListeners().remove(statementCapturer);
+    }
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryCalls")
+    @DisplayName("""
+            Verify that the statements of repository methods are served by an index
+            """)
+    public void repositoryCall_UsesIndex(
+            String method,
+            RepositoryCall call,
+            List<String> indexes
+    ) {
+        call.run(this);
+        List<QueryInfo> issued = List.copyOf(statements);
+        getQueryListener().getListeners().remove(statementCapturer);
+
+        List<String> plans = issued.stream()
+                .map(this::explain)
+                .toList();
+
+        assertThat(plans).isNotEmpty();
+        assertThat(plans).noneMatch(plan -> plan.contains("Seq Scan"));
+        assertThat(plans).anyMatch(plan -> indexes.stream().anyMatch(plan::contains));
+    }
+
+    private static Stream<Arguments> repositoryCalls() {
+        return Stream.of(
+                Arguments.of("findSlice sorted by createdAt desc",
+                        findSliceSortedBy(Sort.Direction.DESC, "createdAt"),
+                        List.of("idx_notes_created_at_id")),
+                Arguments.of("findSlice sorted by createdAt asc",
+                        findSliceSortedBy(Sort.Direction.ASC, "createdAt"),
+                        List.of("idx_notes_created_at_id")),
+                Arguments.of("findSlice sorted by lastUpdatedAt desc",
+                        findSliceSortedBy(Sort.Direction.DESC, "lastUpdatedAt"),
+                        List.of("idx_notes_last_updated_at_id")),
+                Arguments.of("findSlice sorted by title",
+                        findSliceSortedBy(Sort.Direction.ASC, "title"),
+                        List.of("idx_notes_title_id")),
+                Arguments.of("findSlice sorted by id",
+                        (RepositoryCall) test -> test.noteRepository.findSlice(
+                                Specification.where(null),
+                                PageRequest.of(0, PAGE_SIZE, Sort.by("id"))
+                        ),
+                        List.of("notes_pkey")),
+                Arguments.of("findBy scroll after a cursor",
+                        (RepositoryCall) test -> test.noteRepository.findBy(
+                                Specification.<Note>where(null),
+                                query -> query
+                                        .sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                                        .limit(PAGE_SIZE)
+                                        .scroll(ScrollPosition.forward(Map.of(
+                                                "createdAt", LocalDateTime.of(2024, 6, 1, 0, 0),
+                                                "id", 3L
+                                        )))
+                        ),
+                        List.of("idx_notes_created_at_id")),
+                Arguments.of("findSlice searching by title",
+                        (RepositoryCall) test -> test.noteRepository.findSlice(
+                                test.noteSpecificationBuilder.build("note", null),
+                                PageRequest.of(0, PAGE_SIZE)
+                        ),
+                        List.of("idx_notes_title_trgm")),
+                Arguments.of("findSlice searching by content",
+                        (RepositoryCall) test -> test.noteRepository.findSlice(
+                                test.noteSpecificationBuilder.build(null, "note"),
+                                PageRequest.of(0, PAGE_SIZE)
+                        ),
+                        List.of("idx_note_bodies_content_trgm")),
+                Arguments.of("findById",
+                        (RepositoryCall) test -> test.noteRepository.findById(1L),
+                        List.of("notes_pkey")),
+                Arguments.of("streamAll",
+                        (RepositoryCall) test -> {
+                            try (Stream<Note> notes = test.noteRepository.streamAll()) {
+                                notes.forEach(note -> {
+                                });
+                            }
+                        },
+                        List.of("notes_pkey")),
+                Arguments.of("softDeleteById",
+                        (RepositoryCall) test -> test.noteRepository.softDeleteById(1L),
+                        List.of("notes_pkey")),
+                Arguments.of("softDeleteAllByIdIn",
+                        (RepositoryCall) test -> test.noteRepository
+                                .softDeleteAllByIdIn(Set.of(1L, 2L, 3L)),
+                        List.of("notes_pkey")),
+                Arguments.of("findChangesAfter",
+                        (RepositoryCall) test -> test.noteChangeRepository
+                                .findChangesAfter(new NoteChangePosition(100, 1), 101),
+                        List.of("idx_notes_change_xid"))
+        );
+    }
+
+    private static RepositoryCall findSliceSortedBy(Sort.Direction direction, String property) {
+        return test -> test.noteRepository.findSlice(
+                Specification.where(null),
+                PageRequest.of(0, PAGE_SIZE, Sort.by(direction, property, "id"))
+        );
+    }
+
+    private String explain(QueryInfo statement) {
+        Object[] parameters = statement.getParametersList().isEmpty()
+                ? new Object[0]
+                : statement.getParametersList().get(0).stream()
+                        .sorted(Comparator.comparing(operation -> (Integer) operation.getArgs()[0]))
+                        .map(this::getValue)
+                        .toArray();
+        return String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN " + statement.getQuery(), String.class, parameters
+        ));
+    }
+
+    // setNull() is called with the SQL type as its second argument, not with a value
+    private Object getValue(ParameterSetOperation operation) {
+        return ParameterSetOperation.isSetNullParameterOperation(operation)
+                ? null
+                : operation.getArgs()[1];
+    }
+
+    private ChainListener getQueryListener() {
+        return ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+    }
+
+    @FunctionalInterface
+    private interface RepositoryCall {
+        void run(NoteRepositoryIndexUsageTest test);
+    }
+}
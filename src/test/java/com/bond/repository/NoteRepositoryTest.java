@@ -0,0 +1,55 @@
+package com.bond.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bond.holder.LinksHolder;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class NoteRepositoryTest extends LinksHolder {
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH, INSERT_FIVE_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = {
+                    DELETE_ALL_NOTES_FILE_PATH
+            },
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @Test
+    @DisplayName("""
+            Verify that softDeleteAllByIdIn() marks the live notes as deleted and returns their ids
+            """)
+    public void softDeleteAllByIdIn_ExistingAndMissingIds_ReturnsDeletedIds() {
+        List<Long> deletedIds = noteRepository.softDeleteAllByIdIn(Set.of(1L, 2L, 42L));
+
+        assertThat(deletedIds).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT id FROM notes
+                WHERE is_deleted = TRUE AND deleted_at IS NOT NULL AND version = 1
+                ORDER BY id
+                """, Long.class)).containsExactly(1L, 2L);
+        assertThat(noteRepository.existsById(1L)).isFalse();
+        assertThat(noteRepository.existsById(3L)).isTrue();
+
+        // already deleted notes are not returned again
+        assertThat(noteRepository.softDeleteAllByIdIn(Set.of(1L, 3L))).containsExactly(3L);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bond.search;
+
+import static java.time.LocalDateTime.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class NoteTrigramIndexTest {
+    private final NoteTrigramIndex index = new NoteTrigramIndex();
+
+    @Test
+    @DisplayName("""
+            Verify that find() method matches substrings of both fields ignoring case
+            """)
+    public void find_TitleAndContent_ReturnsMatchingIds() {
+        put(1L, 0L, "Shopping list", "Buy milk and bread");
+        put(2L, 0L, "Work", "Prepare the shopping report");
+        put(3L, 0L, "SHOPPING", "Milk, eggs");
+
+        assertEquals(
+                List.of(3L, 1L),
+                index.find("shop", "MILK", Sort.by(Sort.Direction.DESC, "id"), 0, 10)
+        );
+        assertEquals(List.of(2L), index.find("", "shopping", Sort.unsorted(), 0, 10));
+        // all the trigrams are present, but not as one substring
+        assertEquals(List.of(), index.find("shopping work", null, Sort.unsorted(), 0, 10));
+        assertEquals(2L, index.count("shopping", null));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that put() method replaces trigrams of an updated note
+            and ignores an outdated version
+            """)
+    public void put_UpdatedNote_ReplacesOldTerms() {
+        put(1L, 0L, "Old title", "Content");
+        put(1L, 1L, "New title", "Content");
+        put(1L, 0L, "Old title", "Content");
+
+        assertEquals(List.of(), index.find("old", null, Sort.unsorted(), 0, 10));
+        assertEquals(List.of(1L), index.find("new", null, Sort.unsorted(), 0, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that remove() method takes a note out of the results
+            """)
+    public void remove_ExistingNote_IsNotFound() {
+        put(1L, 0L, "First title", "Content");
+        put(2L, 0L, "Second title", "Content");
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.find("title", null, Sort.unsorted(), 0, 10));
+        assertEquals(1L, index.count(null, "content"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that find() method ranks unsorted results and applies offset and limit
+            """)
+    public void find_Unsorted_ReturnsBestMatchesFirst() {
+        put(1L, 0L, "A long title about notes", "Content");
+        put(2L, 0L, "Notes", "Content");
+        put(3L, 0L, "My notes", "Content");
+
+        assertEquals(List.of(2L, 3L, 1L), index.find("notes", null, Sort.unsorted(), 0, 10));
+        assertEquals(List.of(3L), index.find("notes", null, Sort.unsorted(), 1, 1));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that supports() method rejects short terms and sorting by text fields
+            """)
+    public void supports_ShortTermsOrTextSort_ReturnsFalse() {
+        assertTrue(NoteTrigramIndex.supports("abc", "a", Sort.by("createdAt")));
+        assertFalse(NoteTrigramIndex.supports("ab", "", Sort.unsorted()));
+        assertFalse(NoteTrigramIndex.supports("abc", null, Sort.by("title")));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that docs of removed notes are reused when notes keep being created and deleted
+            """)
+    public void putAndRemove_Churn_DocsCapacityBounded() {
+        final int capacity = index.getDocsCapacity();
+        long id = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 500; i++) {
+                put(++id, 0L, "Note " + id, "Content " + id);
+            }
+            for (long removed = id - 499; removed <= id; removed++) {
+                index.remove(removed);
+            }
+        }
+        put(++id, 0L, "Last note", "Content");
+        put(++id, 0L, "Another last note", "Content");
+
+        assertEquals(capacity, index.getDocsCapacity());
+        assertEquals(2, index.size());
+        assertEquals(
+                List.of(id, id - 1),
+                index.find("last note", null, Sort.by(Sort.Direction.DESC, "id"), 0, 10)
+        );
+    }
+
+    private void put(long id, long version, String title, String content) {
+        LocalDateTime now = now();
+        index.put(id, version, title, content, now, now);
+    }
+}
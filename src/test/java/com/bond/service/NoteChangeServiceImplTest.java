@@ -0,0 +1,101 @@
+package com.bond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.bond.dto.NoteChangeDto;
+import com.bond.dto.NoteChangesResponseDto;
+import com.bond.repository.NoteChangePosition;
+import com.bond.repository.NoteChangeRepository;
+import com.bond.repository.NoteChangeRepository.NoteChange;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NoteChangeServiceImplTest {
+    @Mock
+    private NoteChangeRepository noteChangeRepository;
+    @Spy
+    private NoteChangeTokenCodec noteChangeTokenCodec;
+    @InjectMocks
+    private NoteChangeServiceImpl noteChangeService;
+
+    @Test
+    @DisplayName("""
+            Verify that getChanges() method returns a full page and the token of its last change
+            """)
+    public void getChanges_MoreChangesThanSize_ReturnsPageWithNextToken() {
+        List<NoteChange> changes = List.of(
+                createChange(100L, 1L, false),
+                createChange(100L, 2L, true),
+                createChange(105L, 1L, false)
+        );
+        when(noteChangeRepository.findChangesAfter(NoteChangePosition.INITIAL, 3))
+                .thenReturn(changes);
+
+        NoteChangesResponseDto response = noteChangeService.getChanges(null, 2);
+
+        assertEquals(List.of(changes.get(0).note(), changes.get(1).note()), response.changes());
+        assertTrue(response.hasMore());
+        assertEquals(
+                new NoteChangePosition(100L, 2L),
+                noteChangeTokenCodec.decode(response.nextToken())
+        );
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that getChanges() method keeps the passed token when nothing has changed
+            """)
+    public void getChanges_NoChanges_ReturnsSameToken() {
+        String since = noteChangeTokenCodec.encode(new NoteChangePosition(105L, 1L));
+        when(noteChangeRepository.findChangesAfter(new NoteChangePosition(105L, 1L), 101))
+                .thenReturn(List.of());
+
+        NoteChangesResponseDto response = noteChangeService.getChanges(since, 100);
+
+        assertTrue(response.changes().isEmpty());
+        assertFalse(response.hasMore());
+        assertEquals(since, response.nextToken());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that getChanges() method fails for a non-valid token or size
+            """)
+    public void getChanges_NonValidParams_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class, () -> noteChangeService.getChanges("not-valid", 10)
+        );
+        assertEquals("Change token is not valid", exception.getMessage());
+
+        exception = assertThrows(
+                IllegalArgumentException.class, () -> noteChangeService.getChanges(null, 1001)
+        );
+        assertEquals("Size should be between 1 and 1000", exception.getMessage());
+        verifyNoInteractions(noteChangeRepository);
+    }
+
+    private NoteChange createChange(long changeXid, long id, boolean deleted) {
+        NoteChangeDto note = new NoteChangeDto(
+                id,
+                deleted ? null : "Title " + id,
+                deleted ? null : "Content " + id,
+                null,
+                null,
+                changeXid,
+                deleted
+        );
+        return new NoteChange(note, new NoteChangePosition(changeXid, id));
+    }
+}
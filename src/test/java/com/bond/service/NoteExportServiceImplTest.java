@@ -0,0 +1,81 @@
+package com.bond.service;
+
+import static java.time.LocalDateTime.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.Note;
+import com.bond.repository.NoteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NoteExportServiceImplTest {
+    @InjectMocks
+    private NoteExportServiceImpl noteExportService;
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private NoteMapper noteMapper;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("""
+            Verify that exportAll() method writes one note per line and detaches written notes
+            """)
+    public void exportAll_TwoNotes_WritesTwoLines() throws Exception {
+        Note firstNote = new Note()
+                .setId(1L)
+                .setTitle("First title")
+                .setContent("First content")
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+
+        Note secondNote = new Note()
+                .setId(2L)
+                .setTitle("Second title")
+                .setContent("Second content")
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+
+        NoteResponseDto firstResponseDto = new NoteResponseDto(
+                1L, "First title", "First content", firstNote.getCreatedAt(), null, null
+        );
+        NoteResponseDto secondResponseDto = new NoteResponseDto(
+                2L, "Second title", "Second content", secondNote.getCreatedAt(), null, null
+        );
+
+        when(noteRepository.streamAll()).thenReturn(Stream.of(firstNote, secondNote));
+        when(noteMapper.toResponseDto(firstNote)).thenReturn(firstResponseDto);
+        when(noteMapper.toResponseDto(secondNote)).thenReturn(secondResponseDto);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        noteExportService.exportAll(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(firstResponseDto, objectMapper.readValue(lines[0], NoteResponseDto.class));
+        assertEquals(secondResponseDto, objectMapper.readValue(lines[1], NoteResponseDto.class));
+
+        verify(entityManager, times(1)).detach(firstNote);
+        verify(entityManager, times(1)).detach(secondNote);
+    }
+}
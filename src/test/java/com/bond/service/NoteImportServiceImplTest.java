@@ -0,0 +1,131 @@
+package com.bond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bond.dto.NoteImportFormat;
+import com.bond.dto.NoteImportRejectionDto;
+import com.bond.dto.NoteImportResultDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.event.NotesImportedEvent;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.Note;
+import com.bond.repository.NoteCopyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class NoteImportServiceImplTest {
+    @InjectMocks
+    private NoteImportServiceImpl noteImportService;
+    @Mock
+    private NoteCopyRepository noteCopyRepository;
+    @Mock
+    private NoteMapper noteMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(noteImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(noteImportService, "maxReportedRejections", 10);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that importNotes() method copies valid NDJSON lines in chunks
+            and reports non-valid ones
+            """)
+    public void importNotes_PartiallyValidNdjson_ReturnsValidResult() throws Exception {
+        String body = """
+                {"title": "First title", "content": "First content"}
+                {"title": "", "content": "Second content"}
+                not a json
+                
+                {"title": "Third title", "content": "Third content"}
+                {"title": "Fourth title", "content": "Fourth content"}
+                """;
+
+        when(noteMapper.toModel(any(NoteRequestDto.class)))
+                .thenAnswer(invocation -> toModel(invocation.getArgument(0)));
+        List<Integer> chunkSizes = new ArrayList<>();
+        doAnswer(invocation -> chunkSizes.add(invocation.<List<Note>>getArgument(0).size()))
+                .when(noteCopyRepository).copyIn(anyList());
+
+        NoteImportResultDto actual = noteImportService.importNotes(
+                toInputStream(body), NoteImportFormat.NDJSON
+        );
+
+        assertEquals(3, actual.importedCount());
+        assertEquals(2, actual.rejectedCount());
+        assertEquals(
+                new NoteImportRejectionDto(2, "title must not be blank"),
+                actual.rejections().get(0)
+        );
+        assertEquals(3, actual.rejections().get(1).line());
+        // 3 valid notes with chunk size 2 give a full chunk and the rest
+        assertEquals(List.of(2, 1), chunkSizes);
+        verify(eventPublisher, times(2)).publishEvent(any(NotesImportedEvent.class));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that importNotes() method reads CSV with quoted values
+            """)
+    public void importNotes_ValidCsv_ReturnsValidResult() throws Exception {
+        String body = """
+                title,content
+                First title,"First content, with a comma"
+                Second title,"Second ""quoted"" content"
+                """;
+
+        when(noteMapper.toModel(any(NoteRequestDto.class)))
+                .thenAnswer(invocation -> toModel(invocation.getArgument(0)));
+
+        NoteImportResultDto actual = noteImportService.importNotes(
+                toInputStream(body), NoteImportFormat.CSV
+        );
+
+        assertEquals(2, actual.importedCount());
+        assertEquals(0, actual.rejectedCount());
+        verify(noteMapper, times(1)).toModel(
+                new NoteRequestDto("Second title", "Second \"quoted\" content")
+        );
+        verify(noteCopyRepository, times(1)).copyIn(anyList());
+    }
+
+    private Note toModel(NoteRequestDto requestDto) {
+        return new Note()
+                .setTitle(requestDto.title())
+                .setContent(requestDto.content());
+    }
+
+    private InputStream toInputStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package com.bond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bond.dto.NotePurgeResultDto;
+import com.bond.repository.NoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class NotePurgeServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+    private static final long RETENTION_SECONDS = Duration.ofDays(30).toSeconds();
+    @Mock
+    private NoteRepository noteRepository;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private NotePurgeServiceImpl notePurgeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notePurgeService, "retention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(notePurgeService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(notePurgeService, "batchPause", Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that purge() method deletes in batches until a batch is not full
+            """)
+    public void purge_SeveralBatches_PurgesAllAndRecordsMetrics() {
+        when(noteRepository.purgeDeleted(RETENTION_SECONDS, BATCH_SIZE))
+                .thenReturn(BATCH_SIZE, BATCH_SIZE, 1);
+
+        NotePurgeResultDto result = notePurgeService.purge();
+
+        assertEquals(5, result.purgedCount());
+        assertEquals(3, result.batchCount());
+        verify(noteRepository, times(3)).purgeDeleted(RETENTION_SECONDS, BATCH_SIZE);
+        assertEquals(5, meterRegistry.counter(NotePurgeServiceImpl.PURGED_ROWS_METRIC).count());
+        assertEquals(1, meterRegistry.timer(NotePurgeServiceImpl.PURGE_DURATION_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that purge() method stops after one batch when nothing is left to purge
+            """)
+    public void purge_NothingToPurge_RunsOneBatch() {
+        when(noteRepository.purgeDeleted(RETENTION_SECONDS, BATCH_SIZE)).thenReturn(0);
+
+        NotePurgeResultDto result = notePurgeService.purge();
+
+        assertEquals(0, result.purgedCount());
+        assertEquals(1, result.batchCount());
+        verify(noteRepository, times(1)).purgeDeleted(RETENTION_SECONDS, BATCH_SIZE);
+    }
+}
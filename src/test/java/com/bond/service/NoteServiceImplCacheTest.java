@@ -0,0 +1,166 @@
+package com.bond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bond.config.CacheConfig;
+import com.bond.dto.NoteBatchUpdateRequestDto;
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.Note;
+import com.bond.repository.NoteRepository;
+import com.bond.repository.specification.NoteSpecificationBuilder;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+// the service behind the real caching proxy, the cache is turned off for the other tests
+@SpringJUnitConfig(NoteServiceImplCacheTest.CacheTestConfig.class)
+class NoteServiceImplCacheTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 30, 13, 46, 19);
+    @Autowired
+    private NoteService noteService;
+    @Autowired
+    private CacheManager cacheManager;
+    @MockBean
+    private NoteRepository noteRepository;
+    @MockBean
+    private NoteMapper noteMapper;
+    @MockBean
+    private NoteSpecificationBuilder noteSpecificationBuilder;
+    @MockBean
+    private NoteSearchIndexChecker noteSearchIndexChecker;
+    @MockBean
+    private NoteCursorCodec noteCursorCodec;
+    @MockBean
+    private Validator validator;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.NOTES_CACHE).clear();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that a repeated getById() is served from the cache
+            """)
+    public void getById_CalledTwice_LoadsNoteOnce() {
+        Note note = createNote(1L);
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(note));
+        when(noteMapper.toResponseDto(note)).thenReturn(createResponseDto(1L, "Title"));
+
+        NoteResponseDto first = noteService.getById(1L);
+        NoteResponseDto second = noteService.getById(1L);
+
+        assertEquals(first, second);
+        verify(noteRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that create() and update() write the returned note through to the cache
+            """)
+    public void createAndUpdate_WriteThrough_GetByIdNotLoadingNote() {
+        NoteRequestDto requestDto = new NoteRequestDto("Title", "Content");
+        Note note = createNote(1L);
+        when(noteMapper.toModel(requestDto)).thenReturn(note);
+        when(noteMapper.toResponseDto(note)).thenReturn(createResponseDto(1L, "Title"));
+        NoteResponseDto updated = createResponseDto(1L, "Updated title");
+        when(noteRepository.updatePartially(eq(1L), eq("Updated title"), eq(null), eq(null), any()))
+                .thenReturn(Optional.of(updated));
+
+        noteService.create(requestDto);
+        assertEquals(createResponseDto(1L, "Title"), noteService.getById(1L));
+
+        noteService.update(1L, new NoteRequestDto("Updated title", null), null);
+        assertEquals(updated, noteService.getById(1L));
+
+        verify(noteRepository, never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that delete() evicts the note from the cache
+            """)
+    public void delete_CachedNote_Evicted() {
+        cacheManager.getCache(CacheConfig.NOTES_CACHE).put(1L, createResponseDto(1L, "Title"));
+        when(noteRepository.softDeleteById(1L)).thenReturn(1);
+
+        noteService.delete(1L, null);
+
+        assertNull(cacheManager.getCache(CacheConfig.NOTES_CACHE).get(1L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that deleteAll() and updateAll() evict only the notes they changed
+            """)
+    public void deleteAllAndUpdateAll_CachedNotes_OnlyAffectedEvicted() {
+        for (long id = 1; id <= 3; id++) {
+            cacheManager.getCache(CacheConfig.NOTES_CACHE).put(id, createResponseDto(id, "Title"));
+        }
+        when(noteRepository.softDeleteAllByIdIn(Set.of(1L))).thenReturn(List.of(1L));
+        Note note = createNote(2L);
+        when(noteRepository.findAllById(Set.of(2L))).thenReturn(List.of(note));
+        when(validator.validateProperty(any(NoteRequestDto.class), anyString()))
+                .thenReturn(Set.of());
+        when(noteMapper.toUpdatedModel(eq(note), any(NoteRequestDto.class))).thenReturn(note);
+        when(noteMapper.toResponseDto(note)).thenReturn(createResponseDto(2L, "Updated title"));
+
+        noteService.deleteAll(List.of(1L));
+        noteService.updateAll(List.of(new NoteBatchUpdateRequestDto(2L, "Updated title", null)));
+
+        assertNull(cacheManager.getCache(CacheConfig.NOTES_CACHE).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.NOTES_CACHE).get(2L));
+        assertEquals(
+                createResponseDto(3L, "Title"),
+                cacheManager.getCache(CacheConfig.NOTES_CACHE).get(3L, NoteResponseDto.class)
+        );
+    }
+
+    private Note createNote(Long id) {
+        return new Note()
+                .setId(id)
+                .setTitle("Title")
+                .setContent("Content")
+                .setCreatedAt(CREATED_AT)
+                .setLastUpdatedAt(CREATED_AT);
+    }
+
+    private NoteResponseDto createResponseDto(Long id, String title) {
+        return new NoteResponseDto(id, title, "Content", CREATED_AT, CREATED_AT, 0L);
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({NoteServiceImpl.class, NoteRequestValidator.class})
+    static class CacheTestConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.NOTES_CACHE);
+        }
+    }
+}
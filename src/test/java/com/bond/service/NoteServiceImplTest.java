@@ -4,30 +4,51 @@ import static java.time.LocalDateTime.now;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.bond.dto.NoteBatchResultDto;
+import com.bond.dto.NoteCursorPageResponseDto;
 import com.bond.dto.NoteRequestDto;
 import com.bond.dto.NoteResponseDto;
+import com.bond.dto.NoteSummaryDto;
+import com.bond.event.NoteChangedEvent;
 import com.bond.mapper.NoteMapper;
 import com.bond.model.Note;
 import com.bond.repository.NoteRepository;
+import com.bond.repository.specification.NoteSpecificationBuilder;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class NoteServiceImplTest {
@@ -37,6 +58,24 @@ class NoteServiceImplTest {
     private NoteRepository noteRepository;
     @Mock
     private NoteMapper noteMapper;
+    @Mock
+    private NoteSpecificationBuilder noteSpecificationBuilder;
+    @Mock
+    private NoteSearchIndexChecker noteSearchIndexChecker;
+    @Spy
+    private NoteCursorCodec noteCursorCodec;
+    @Spy
+    private NoteRequestValidator noteRequestValidator;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ObjectProvider<InMemoryNoteSearchService> inMemorySearchService;
+    @Mock
+    private InMemoryNoteSearchService inMemoryNoteSearchService;
+    @Mock
+    private CacheManager cacheManager;
 
     @Test
     @DisplayName("""
@@ -61,13 +100,13 @@ class NoteServiceImplTest {
 
         Pageable pageable = PageRequest.of(0, 5);
 
-        Page<Note> page = new PageImpl<>(noteList, pageable, noteList.size());
+        Slice<Note> slice = new SliceImpl<>(noteList, pageable, false);
 
         NoteResponseDto firstExpectedDto = createResponseDtoFromModel(firstExpectedNote);
         NoteResponseDto secondExpectedDto = createResponseDtoFromModel(secondExpectedNote);
 
-        when(noteRepository.findAll(pageable))
-                .thenReturn(page);
+        when(noteRepository.findSlice(any(Specification.class), eq(pageable)))
+                .thenReturn(slice);
         when(noteMapper.toResponseDto(firstExpectedNote)).thenReturn(firstExpectedDto);
         when(noteMapper.toResponseDto(secondExpectedNote)).thenReturn(secondExpectedDto);
 
@@ -77,7 +116,8 @@ class NoteServiceImplTest {
         assertEquals(expectedList, actualList);
 
         verify(noteRepository, times(1))
-                .findAll(pageable);
+                .findSlice(any(Specification.class), eq(pageable));
+        verifyNoMoreInteractions(noteRepository);
         verify(noteMapper, times(1)).toResponseDto(firstExpectedNote);
         verify(noteMapper, times(1)).toResponseDto(secondExpectedNote);
         verifyNoMoreInteractions(noteMapper);
@@ -123,7 +163,7 @@ class NoteServiceImplTest {
         Long validId = 1L;
 
         IllegalArgumentException illegalArgumentException = assertThrows(
-                IllegalArgumentException.class, () -> noteService.update(validId, requestDto)
+                IllegalArgumentException.class, () -> noteService.update(validId, requestDto, null)
         );
 
         String expectedMessage = """
@@ -138,9 +178,13 @@ class NoteServiceImplTest {
         NoteRequestDto newRequestDto = new NoteRequestDto("Test title", "Test content");
         Long nonValidId = -10L;
 
-        when(noteRepository.findById(nonValidId)).thenReturn(Optional.empty());
+        when(noteRepository.updatePartially(
+                eq(nonValidId), eq("Test title"), eq("Test content"), eq(null),
+                any(LocalDateTime.class)
+        )).thenReturn(Optional.empty());
         EntityNotFoundException notFoundException = assertThrows(
-                EntityNotFoundException.class, () -> noteService.update(nonValidId, newRequestDto)
+                EntityNotFoundException.class,
+                () -> noteService.update(nonValidId, newRequestDto, null)
         );
 
         expectedMessage = "Can't find a note with id " + nonValidId;
@@ -157,28 +201,47 @@ class NoteServiceImplTest {
 
         Long id = 1L;
 
-        Note expectedNote = new Note()
-                .setId(id)
-                .setTitle("Old title")
-                .setContent("Old content")
-                .setCreatedAt(now())
-                .setLastUpdatedAt(now().minusDays(1));
+        NoteResponseDto expectedResponseDto = new NoteResponseDto(
+                id, requestDto.title(), requestDto.content(), now().minusDays(1), now(), 1L
+        );
 
-        when(noteRepository.findById(id)).thenReturn(Optional.of(expectedNote));
+        when(noteRepository.updatePartially(
+                eq(id), eq(requestDto.title()), eq(requestDto.content()), eq(0L),
+                any(LocalDateTime.class)
+        )).thenReturn(Optional.of(expectedResponseDto));
 
-        expectedNote
-                .setContent(requestDto.content())
-                .setTitle(requestDto.title());
+        NoteResponseDto actualResponseDto = noteService.update(id, requestDto, 0L);
 
-        NoteResponseDto expectedResponseDto = createResponseDtoFromModel(expectedNote);
+        assertEquals(expectedResponseDto, actualResponseDto);
+        verify(noteRepository, never()).findById(id);
+        verifyNoInteractions(noteMapper);
+        verify(eventPublisher).publishEvent(NoteChangedEvent.updated(expectedResponseDto));
+    }
 
-        when(noteMapper.toUpdatedModel(expectedNote, requestDto)).thenReturn(expectedNote);
-        when(noteRepository.save(expectedNote)).thenReturn(expectedNote);
-        when(noteMapper.toResponseDto(expectedNote)).thenReturn(expectedResponseDto);
+    @Test
+    @DisplayName("""
+            Verify that update() method fails when the note has another version than expected
+            """)
+    public void update_StaleVersion_ThrowsException() {
+        NoteRequestDto requestDto = new NoteRequestDto("New title", null);
+        Long id = 1L;
+        Long staleVersion = 2L;
 
-        NoteResponseDto actualResponseDto = noteService.update(id, requestDto);
+        when(noteRepository.updatePartially(
+                eq(id), eq(requestDto.title()), eq(null), eq(staleVersion),
+                any(LocalDateTime.class)
+        )).thenReturn(Optional.empty());
+        when(noteRepository.existsById(id)).thenReturn(true);
 
-        assertEquals(expectedResponseDto, actualResponseDto);
+        OptimisticLockingFailureException exception = assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> noteService.update(id, requestDto, staleVersion)
+        );
+
+        assertEquals(
+                "Note with id 1 was modified, its version is not 2 anymore",
+                exception.getMessage()
+        );
     }
 
     @Test
@@ -224,6 +287,56 @@ class NoteServiceImplTest {
         assertEquals(expectedMessage, actualMessage);
     }
 
+    @Test
+    @DisplayName("""
+            Verify that delete() method soft deletes a note in a single statement
+            """)
+    public void delete_ValidId_SoftDeletesNote() {
+        Long id = 1L;
+
+        when(noteRepository.softDeleteById(id)).thenReturn(1);
+
+        noteService.delete(id, null);
+
+        verify(noteRepository, times(1)).softDeleteById(id);
+        verifyNoMoreInteractions(noteRepository);
+        verify(eventPublisher).publishEvent(NoteChangedEvent.deleted(id));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that delete() method fails when the note has another version than expected
+            """)
+    public void delete_StaleVersion_ThrowsException() {
+        Long id = 1L;
+        Long staleVersion = 2L;
+
+        when(noteRepository.softDeleteByIdAndVersion(id, staleVersion)).thenReturn(0);
+        when(noteRepository.existsById(id)).thenReturn(true);
+
+        assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> noteService.delete(id, staleVersion)
+        );
+        verify(noteRepository, never()).softDeleteById(id);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that delete() method throws an exception when nothing was deleted
+            """)
+    public void delete_NonExistingId_ThrowsException() {
+        Long id = -10L;
+
+        when(noteRepository.softDeleteById(id)).thenReturn(0);
+
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class, () -> noteService.delete(id, null)
+        );
+
+        assertEquals("Can't find a note with id " + id, exception.getMessage());
+    }
+
     @Test
     @DisplayName("""
             Verify that search() method works as expected with valid params
@@ -248,12 +361,13 @@ class NoteServiceImplTest {
 
         Pageable pageable = PageRequest.of(0, 5);
 
-        Page<Note> page = new PageImpl<>(expectedNoteList, pageable, expectedNoteList.size());
+        Slice<Note> slice = new SliceImpl<>(expectedNoteList, pageable, false);
 
         NoteResponseDto firstResponseDto = createResponseDtoFromModel(firstExpectedNote);
         NoteResponseDto secondResponseDto = createResponseDtoFromModel(secondExpectedNote);
 
-        when(noteRepository.findAll(any(Example.class), any(Pageable.class))).thenReturn(page);
+        when(noteRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(slice);
         when(noteMapper.toResponseDto(firstExpectedNote)).thenReturn(firstResponseDto);
         when(noteMapper.toResponseDto(secondExpectedNote)).thenReturn(secondResponseDto);
 
@@ -265,17 +379,260 @@ class NoteServiceImplTest {
 
         assertEquals(expectedList, actualList);
 
-        verify(noteMapper, times(2)).toResponseDto(any());
+        verify(noteMapper, times(2)).toResponseDto(any(Note.class));
         verifyNoMoreInteractions(noteMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify that search() method uses indexed search when trigram indexes are present
+            """)
+    public void search_IndexesPresent_UsesSpecification() {
+        Note expectedNote = new Note()
+                .setId(1L)
+                .setTitle("First test title")
+                .setContent("First test content")
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+
+        Pageable pageable = PageRequest.of(0, 5);
+
+        Slice<Note> slice = new SliceImpl<>(List.of(expectedNote), pageable, false);
+
+        NoteResponseDto expectedResponseDto = createResponseDtoFromModel(expectedNote);
+
+        String title = "test";
+        String content = "test";
+
+        Specification<Note> specification = (root, query, criteriaBuilder) -> null;
+
+        when(noteSearchIndexChecker.isFullTextSearchAvailable()).thenReturn(true);
+        when(noteSpecificationBuilder.build(title, content)).thenReturn(specification);
+        when(noteRepository.findSlice(specification, pageable)).thenReturn(slice);
+        when(noteMapper.toResponseDto(expectedNote)).thenReturn(expectedResponseDto);
+
+        List<NoteResponseDto> actualList = noteService.search(title, content, pageable);
+
+        assertEquals(List.of(expectedResponseDto), actualList);
+
+        verify(noteRepository, times(1)).findSlice(specification, pageable);
+        verifyNoMoreInteractions(noteRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that search() method hydrates ids found by the in-memory index
+            and keeps their order
+            """)
+    public void search_InMemoryIndexReady_ReturnsNotesInIndexOrder() {
+        Note firstExpectedNote = new Note()
+                .setId(1L)
+                .setTitle("First test title")
+                .setContent("First test content")
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+
+        Note secondExpectedNote = new Note()
+                .setId(2L)
+                .setTitle("Second test title")
+                .setContent("Second test content")
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+
+        Pageable pageable = PageRequest.of(0, 5);
+
+        NoteResponseDto firstResponseDto = createResponseDtoFromModel(firstExpectedNote);
+        NoteResponseDto secondResponseDto = createResponseDtoFromModel(secondExpectedNote);
+
+        String title = "test";
+        String content = "test";
+
+        when(inMemorySearchService.getIfAvailable()).thenReturn(inMemoryNoteSearchService);
+        when(inMemoryNoteSearchService.supports(title, content, pageable.getSort()))
+                .thenReturn(true);
+        when(inMemoryNoteSearchService.findIds(title, content, pageable))
+                .thenReturn(List.of(2L, 1L));
+        when(noteRepository.findAllById(List.of(2L, 1L)))
+                .thenReturn(List.of(firstExpectedNote, secondExpectedNote));
+        when(noteMapper.toResponseDto(firstExpectedNote)).thenReturn(firstResponseDto);
+        when(noteMapper.toResponseDto(secondExpectedNote)).thenReturn(secondResponseDto);
+
+        List<NoteResponseDto> actualList = noteService.search(title, content, pageable);
+
+        assertEquals(List.of(secondResponseDto, firstResponseDto), actualList);
+
+        verify(noteRepository, times(1)).findAllById(List.of(2L, 1L));
+        verifyNoMoreInteractions(noteRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that countSearchResults() method falls back to the database
+            when the in-memory index can't answer the query
+            """)
+    public void countSearchResults_ShortTerms_CountsInDatabase() {
+        String title = "ab";
+
+        when(inMemorySearchService.getIfAvailable()).thenReturn(inMemoryNoteSearchService);
+        when(noteRepository.count(any(Specification.class))).thenReturn(3L);
+
+        assertEquals(3L, noteService.countSearchResults(title, null));
+
+        verify(inMemoryNoteSearchService, never()).count(title, null);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that scroll() method returns a cursor pointing to the last note of the window
+            """)
+    public void scroll_HasNextWindow_ReturnsNextCursor() {
+        Note firstExpectedNote = new Note()
+                .setId(2L)
+                .setTitle("Second note")
+                .setContent("Second note")
+                .setCreatedAt(now())
+                .setLastUpdatedAt(now());
+
+        Note secondExpectedNote = new Note()
+                .setId(1L)
+                .setTitle("First note")
+                .setContent("First note")
+                .setCreatedAt(now().minusDays(1))
+                .setLastUpdatedAt(now());
+
+        List<Note> noteList = List.of(firstExpectedNote, secondExpectedNote);
+
+        Window<Note> window = Window.from(
+                noteList,
+                index -> ScrollPosition.forward(Map.of(
+                        NoteCursorCodec.CREATED_AT_KEY, noteList.get(index).getCreatedAt(),
+                        NoteCursorCodec.ID_KEY, noteList.get(index).getId()
+                )),
+                true
+        );
+
+        NoteResponseDto firstExpectedDto = createResponseDtoFromModel(firstExpectedNote);
+        NoteResponseDto secondExpectedDto = createResponseDtoFromModel(secondExpectedNote);
+
+        when(noteRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(noteMapper.toResponseDto(firstExpectedNote)).thenReturn(firstExpectedDto);
+        when(noteMapper.toResponseDto(secondExpectedNote)).thenReturn(secondExpectedDto);
+
+        NoteCursorPageResponseDto actual = noteService.scroll(null, 2);
+
+        assertEquals(List.of(firstExpectedDto, secondExpectedDto), actual.content());
+        assertEquals(true, actual.hasNext());
+
+        Map<String, Object> expectedKeys = Map.of(
+                NoteCursorCodec.CREATED_AT_KEY, secondExpectedNote.getCreatedAt(),
+                NoteCursorCodec.ID_KEY, secondExpectedNote.getId()
+        );
+        assertEquals(expectedKeys, noteCursorCodec.decode(actual.nextCursor()).getKeys());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that scroll() method throws an exception when passing a non-valid cursor
+            """)
+    public void scroll_NonValidCursor_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class, () -> noteService.scroll("not-a-cursor", 5)
+        );
+
+        assertEquals("Cursor is not valid", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that getAllSummaries() method returns projections without touching the mapper
+            """)
+    public void getAllSummaries_ValidPageable_ReturnsValidList() {
+        NoteSummaryDto firstExpectedDto = new NoteSummaryDto(
+                1L, "First note", "First", now(), now()
+        );
+        NoteSummaryDto secondExpectedDto = new NoteSummaryDto(
+                2L, "Second note", "Secon", now(), now()
+        );
+
+        List<NoteSummaryDto> expectedList = List.of(firstExpectedDto, secondExpectedDto);
+
+        Pageable pageable = PageRequest.of(0, 5);
+
+        when(noteRepository.findSummarySlice(any(Specification.class), eq(pageable), anyInt()))
+                .thenReturn(new SliceImpl<>(expectedList, pageable, false));
+
+        List<NoteSummaryDto> actualList = noteService.getAllSummaries(pageable);
+
+        assertEquals(expectedList, actualList);
+
+        verifyNoMoreInteractions(noteMapper);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that createAll() method saves valid notes and reports non-valid ones
+            """)
+    public void createAll_PartiallyValidRequest_ReturnsPerItemResults() {
+        ReflectionTestUtils.setField(noteService, "maxBatchSize", 10);
+
+        NoteRequestDto validRequestDto = new NoteRequestDto("Test title", "Test content");
+        NoteRequestDto nonValidRequestDto = new NoteRequestDto("", "Test content");
+
+        Note expectedNote = new Note()
+                .setTitle(validRequestDto.title())
+                .setContent(validRequestDto.content());
+
+        when(noteMapper.toModel(validRequestDto)).thenReturn(expectedNote);
+        when(noteRepository.saveAll(any())).thenAnswer(invocation -> {
+            expectedNote.setId(1L);
+            return List.of(expectedNote);
+        });
+        NoteResponseDto expectedResponseDto = new NoteResponseDto(
+                1L, "Test title", "Test content", now(), now(), 0L
+        );
+        when(noteMapper.toResponseDto(expectedNote)).thenReturn(expectedResponseDto);
+
+        List<NoteBatchResultDto> actual = noteService.createAll(
+                List.of(nonValidRequestDto, validRequestDto)
+        );
+
+        NoteBatchResultDto expectedFailure = new NoteBatchResultDto(
+                0, null, false, null, "title must not be blank"
+        );
+        NoteBatchResultDto expectedSuccess = new NoteBatchResultDto(
+                1, 1L, true, expectedResponseDto, null
+        );
+
+        assertEquals(List.of(expectedFailure, expectedSuccess), actual);
+        verify(noteRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that createAll() method rejects too big batches
+            """)
+    public void createAll_TooBigBatch_ThrowsException() {
+        ReflectionTestUtils.setField(noteService, "maxBatchSize", 1);
+
+        NoteRequestDto requestDto = new NoteRequestDto("Test title", "Test content");
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> noteService.createAll(List.of(requestDto, requestDto))
+        );
+
+        assertEquals("Batch should contain from 1 to 1 items", exception.getMessage());
+        verifyNoMoreInteractions(noteRepository);
+    }
+
     private NoteResponseDto createResponseDtoFromModel(Note note) {
         return new NoteResponseDto(
                 note.getId(),
                 note.getTitle(),
                 note.getTitle(),
                 note.getCreatedAt(),
-                note.getLastUpdatedAt()
+                note.getLastUpdatedAt(),
+                note.getVersion()
         );
     }
 }
@@ -0,0 +1,102 @@
+package com.bond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bond.dto.NoteRecompressionResultDto;
+import com.bond.repository.NoteStorageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class NoteStorageServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MIN_BYTES = 1024;
+    @Mock
+    private NoteStorageRepository noteStorageRepository;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private NoteStorageServiceImpl noteStorageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(noteStorageService, "minBytes", MIN_BYTES);
+        ReflectionTestUtils.setField(noteStorageService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(noteStorageService, "batchPause", Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that recompress() method continues every batch after the last rewritten id
+            """)
+    public void recompress_SeveralBatches_RewritesAllAndRecordsMetrics() {
+        when(noteStorageRepository.isContentCompressedWithLz4()).thenReturn(true);
+        when(noteStorageRepository.rewriteContent(0L, MIN_BYTES, BATCH_SIZE))
+                .thenReturn(List.of(3L, 1L));
+        when(noteStorageRepository.rewriteContent(3L, MIN_BYTES, BATCH_SIZE))
+                .thenReturn(List.of(4L, 7L));
+        when(noteStorageRepository.rewriteContent(7L, MIN_BYTES, BATCH_SIZE))
+                .thenReturn(List.of(9L));
+
+        NoteRecompressionResultDto result = noteStorageService.recompress();
+
+        assertEquals(5, result.rewrittenCount());
+        assertEquals(3, result.batchCount());
+        verify(noteStorageRepository, times(1)).rewriteContent(7L, MIN_BYTES, BATCH_SIZE);
+        assertEquals(
+                5,
+                meterRegistry.counter(NoteStorageServiceImpl.REWRITTEN_ROWS_METRIC).count()
+        );
+        assertEquals(
+                1,
+                meterRegistry.timer(NoteStorageServiceImpl.RECOMPRESS_DURATION_METRIC).count()
+        );
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that recompress() method stops after one batch when nothing is left to rewrite
+            """)
+    public void recompress_NothingToRewrite_RunsOneBatch() {
+        when(noteStorageRepository.isContentCompressedWithLz4()).thenReturn(true);
+        when(noteStorageRepository.rewriteContent(0L, MIN_BYTES, BATCH_SIZE))
+                .thenReturn(List.of());
+
+        NoteRecompressionResultDto result = noteStorageService.recompress();
+
+        assertEquals(0, result.rewrittenCount());
+        assertEquals(1, result.batchCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that recompress() method rewrites nothing when the server has no lz4
+            """)
+    public void recompress_NoLz4_Skipped() {
+        when(noteStorageRepository.isContentCompressedWithLz4()).thenReturn(false);
+
+        NoteRecompressionResultDto result = noteStorageService.recompress();
+
+        assertTrue(result.skipped());
+        assertEquals(0, result.rewrittenCount());
+        verify(noteStorageRepository, never()).rewriteContent(anyLong(), anyInt(), anyInt());
+    }
+}
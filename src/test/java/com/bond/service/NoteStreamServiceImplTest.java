@@ -0,0 +1,95 @@
+package com.bond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bond.dto.NoteResponseDto;
+import com.bond.event.NoteChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class NoteStreamServiceImplTest {
+    private static final int BUFFER_SIZE = 2;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private NoteStreamServiceImpl noteStreamService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(noteStreamService, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(noteStreamService, "bufferSize", BUFFER_SIZE);
+        noteStreamService.registerMetrics();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that a subscriber keeping up with events stays subscribed
+            """)
+    public void onNoteChanged_ActiveSubscriber_StaysSubscribed() {
+        useSenders(Runnable::run);
+        noteStreamService.subscribe();
+
+        for (long id = 1; id <= BUFFER_SIZE + 1; id++) {
+            noteStreamService.onNoteChanged(NoteChangedEvent.created(createNote(id)));
+        }
+
+        assertEquals(1, subscribersCount());
+        assertEquals(0, meterRegistry.counter(NoteStreamServiceImpl.EVICTIONS_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that a subscriber whose buffer overflows is disconnected
+            """)
+    public void onNoteChanged_StalledSubscriber_IsEvicted() {
+        // events are never sent, so they pile up as for a stalled client
+        useSenders(task -> { });
+        noteStreamService.subscribe();
+
+        for (long id = 1; id <= BUFFER_SIZE + 1; id++) {
+            noteStreamService.onNoteChanged(NoteChangedEvent.deleted(id));
+        }
+
+        assertEquals(0, subscribersCount());
+        assertEquals(1, meterRegistry.counter(NoteStreamServiceImpl.EVICTIONS_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that a subscriber that cannot be sent to anymore is removed
+            """)
+    public void sendHeartbeats_CompletedSubscriber_IsRemoved() {
+        useSenders(Runnable::run);
+        SseEmitter emitter = noteStreamService.subscribe();
+        emitter.complete();
+
+        noteStreamService.sendHeartbeats();
+
+        assertEquals(0, subscribersCount());
+        assertEquals(0, meterRegistry.counter(NoteStreamServiceImpl.EVICTIONS_METRIC).count());
+    }
+
+    private void useSenders(Executor senders) {
+        ReflectionTestUtils.setField(noteStreamService, "senders", senders);
+    }
+
+    private double subscribersCount() {
+        return meterRegistry.get(NoteStreamServiceImpl.SUBSCRIBERS_METRIC).gauge().value();
+    }
+
+    private NoteResponseDto createNote(long id) {
+        return new NoteResponseDto(id, "Title " + id, "Content " + id, null, null, 0L);
+    }
+}
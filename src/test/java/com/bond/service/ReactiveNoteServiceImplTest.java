@@ -0,0 +1,159 @@
+package com.bond.service;
+
+import static java.time.LocalDateTime.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.bond.dto.NoteRequestDto;
+import com.bond.dto.NoteResponseDto;
+import com.bond.mapper.NoteMapper;
+import com.bond.model.NoteRow;
+import com.bond.repository.reactive.ReactiveNoteRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveNoteServiceImplTest {
+    @Mock
+    private ReactiveNoteRepository reactiveNoteRepository;
+    @Mock
+    private NoteMapper noteMapper;
+    @Spy
+    private NoteCursorCodec noteCursorCodec;
+    @Spy
+    private NoteRequestValidator noteRequestValidator;
+    @InjectMocks
+    private ReactiveNoteServiceImpl reactiveNoteService;
+
+    @Test
+    @DisplayName("""
+            Verify that getAll() method streams notes read from the repository
+            """)
+    public void getAll_ValidPageable_StreamsNotes() {
+        Pageable pageable = PageRequest.of(0, 2);
+        NoteRow first = createNoteRow(1L);
+        NoteRow second = createNoteRow(2L);
+
+        when(reactiveNoteRepository.findPage(null, null, pageable))
+                .thenReturn(Flux.just(first, second));
+        when(noteMapper.toResponseDto(first)).thenReturn(createResponseDto(first));
+        when(noteMapper.toResponseDto(second)).thenReturn(createResponseDto(second));
+
+        StepVerifier.create(reactiveNoteService.getAll(pageable))
+                .expectNext(createResponseDto(first))
+                .expectNext(createResponseDto(second))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that getById() method fails when there is no such note
+            """)
+    public void getById_NonExistingId_ThrowsException() {
+        Long id = -10L;
+
+        when(reactiveNoteRepository.findByIdAndDeletedFalse(id)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveNoteService.getById(id))
+                .expectErrorSatisfies(error -> {
+                    assertEquals(EntityNotFoundException.class, error.getClass());
+                    assertEquals("Can't find a note with id " + id, error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that search() method fails without search params and doesn't query the database
+            """)
+    public void search_NoParams_ThrowsException() {
+        StepVerifier.create(reactiveNoteService.search(null, null, PageRequest.of(0, 5)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(reactiveNoteRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that scroll() method returns a cursor when there are more notes
+            """)
+    public void scroll_MoreNotesThanSize_ReturnsNextCursor() {
+        NoteRow first = createNoteRow(3L);
+        NoteRow second = createNoteRow(2L);
+        NoteRow third = createNoteRow(1L);
+
+        when(reactiveNoteRepository.findAfter(null, null, null, null, 3))
+                .thenReturn(Flux.just(first, second, third));
+        when(noteMapper.toResponseDto(any(NoteRow.class)))
+                .thenAnswer(invocation -> createResponseDto(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveNoteService.scroll(null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.content().size());
+                    assertEquals(true, page.hasNext());
+                    assertEquals(second.getId(), noteCursorCodec.decode(page.nextCursor())
+                            .getKeys()
+                            .get(NoteCursorCodec.ID_KEY));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that delete() method fails when nothing was deleted
+            """)
+    public void delete_NonExistingId_ThrowsException() {
+        when(reactiveNoteRepository.softDeleteById(eq(-10L))).thenReturn(Mono.just(0));
+
+        StepVerifier.create(reactiveNoteService.delete(-10L))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that update() method fails for an empty request without querying the database
+            """)
+    public void update_EmptyRequest_ThrowsException() {
+        StepVerifier.create(reactiveNoteService.update(1L, new NoteRequestDto("", null)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(reactiveNoteRepository);
+    }
+
+    private NoteRow createNoteRow(Long id) {
+        return new NoteRow()
+                .setId(id)
+                .setTitle("Title " + id)
+                .setContent("Content " + id)
+                .setCreatedAt(now().minusMinutes(id))
+                .setLastUpdatedAt(now().minusMinutes(id));
+    }
+
+    private NoteResponseDto createResponseDto(NoteRow noteRow) {
+        return new NoteResponseDto(
+                noteRow.getId(),
+                noteRow.getTitle(),
+                noteRow.getContent(),
+                noteRow.getCreatedAt(),
+                noteRow.getLastUpdatedAt(),
+                noteRow.getVersion()
+        );
+    }
+}
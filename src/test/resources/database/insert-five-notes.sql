@@ -1,22 +1,30 @@
-INSERT INTO notes (id, title, content, created_at, last_updated_at, is_deleted)
+INSERT INTO notes (id, title, created_at, last_updated_at, is_deleted)
 VALUES
-    (1, 'First title', 'First content',
+    (1, 'First title',
      '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
      FALSE
     ),
-    (2, 'Second title', 'Second content',
+    (2, 'Second title',
      '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
      FALSE
     ),
-    (3, 'Third title', 'Third content',
+    (3, 'Third title',
      '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
      FALSE
     ),
-    (4, 'Fourth title', 'Fourth content',
+    (4, 'Fourth title',
      '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
      FALSE
     ),
-    (5, 'Fifth title', 'Fifth content',
+    (5, 'Fifth title',
      '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
      FALSE
     );
+
+INSERT INTO note_bodies (note_id, content)
+VALUES
+    (1, 'First content'),
+    (2, 'Second content'),
+    (3, 'Third content'),
+    (4, 'Fourth content'),
+    (5, 'Fifth content');
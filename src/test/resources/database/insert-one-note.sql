@@ -1,6 +1,10 @@
-INSERT INTO notes (id, title, content, created_at, last_updated_at, is_deleted)
+INSERT INTO notes (id, title, created_at, last_updated_at, is_deleted)
 VALUES
-    (1, 'First title', 'First content',
+    (1, 'First title',
      '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
      FALSE
-    );
\ No newline at end of file
+    );
+
+INSERT INTO note_bodies (note_id, content)
+VALUES
+    (1, 'First content');
@@ -0,0 +1,15 @@
+INSERT INTO notes (id, title, created_at, last_updated_at, is_deleted, deleted_at)
+VALUES
+    (2, 'Second title',
+     '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
+     TRUE, '2024-05-30 13:46:19.204241'
+    ),
+    (3, 'Third title',
+     '2024-05-30 13:46:19.204241', '2024-05-30 13:46:19.204241',
+     TRUE, '2024-05-30 13:46:19.204241'
+    );
+
+INSERT INTO note_bodies (note_id, content)
+VALUES
+    (2, 'Second content'),
+    (3, 'Third content');